@@ -0,0 +1,98 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintEvaluator;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintProfiler;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintRegistry;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.HardConstraintPrefilter;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelConstraint;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelExpressionCache;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full {@link ConstraintBasedRecommender#getSecurityPatternRecommendations} call, including the
+ * hard constraint pre-filter and the top-K selection, over growing catalogs and constraint sets.
+ *
+ * The largest combinations take seconds per call; restrict the grid with `-p` when iterating locally.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintBasedRecommenderBenchmark {
+
+	@Param({"10", "1000", "100000"})
+	public int securityPatterns;
+
+	@Param({"10", "100", "1000"})
+	public int constraints;
+
+	@Param({"true", "false"})
+	public boolean prefilterEnabled;
+
+	@Param({"OFF", "MIXED"})
+	public SpelCompilerMode compilerMode;
+
+	private ConstraintBasedRecommender recommender;
+	private List<SecurityPatternDTO> securityPatternList;
+	private ProjectDTO project;
+	private Map<String, Object> userPreferences;
+
+	@Setup
+	public void setUp() {
+		List<SpelConstraint> constraintList = SyntheticCatalog.constraints(
+				constraints, new SpelExpressionCache(4096, compilerMode));
+		// Serves the synthetic constraints instead of loading them from the database
+		ConstraintRegistry constraintRegistry = new ConstraintRegistry(null, null, null) {
+			@Override
+			public List<SpelConstraint> getConstraintsBySecurityControlId(Long securityControlId) {
+				return constraintList;
+			}
+		};
+
+		RecommendationMetrics recommendationMetrics = new RecommendationMetrics(new SimpleMeterRegistry(), true);
+		ConstraintProfiler constraintProfiler = new ConstraintProfiler(false);
+		HardConstraintPrefilter hardConstraintPrefilter = new HardConstraintPrefilter(recommendationMetrics, constraintProfiler);
+		ReflectionTestUtils.setField(hardConstraintPrefilter, "enabled", prefilterEnabled);
+
+		recommender = new ConstraintBasedRecommender(
+				constraintRegistry,
+				new ConstraintEvaluator(recommendationMetrics, constraintProfiler),
+				hardConstraintPrefilter,
+				ForkJoinPool.commonPool(),
+				recommendationMetrics);
+		ReflectionTestUtils.setField(recommender, "topK", 10);
+
+		securityPatternList = SyntheticCatalog.securityPatterns(securityPatterns);
+		project = SyntheticCatalog.project();
+		userPreferences = SyntheticCatalog.userPreferences();
+	}
+
+	@Benchmark
+	public List<SecurityPatternRecommendation> getSecurityPatternRecommendations() {
+		return recommender.getSecurityPatternRecommendations(
+				SyntheticCatalog.SECURITY_CONTROL_ID, securityPatternList, project, userPreferences);
+	}
+}
@@ -0,0 +1,74 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintEvaluator;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintProfiler;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelConstraint;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelExpressionCache;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConstraintEvaluator#score}, alone and followed by {@link ConstraintEvaluator#explain}, of one
+ * security pattern against growing constraint sets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConstraintEvaluatorBenchmark {
+
+	private static final int CONTEXTS = 100;
+
+	@Param({"10", "100", "1000"})
+	public int constraints;
+
+	@Param({"OFF", "MIXED"})
+	public SpelCompilerMode compilerMode;
+
+	private final ConstraintEvaluator constraintEvaluator = new ConstraintEvaluator(
+			new RecommendationMetrics(new SimpleMeterRegistry(), true), new ConstraintProfiler(false));
+	private List<SpelConstraint> constraintList;
+	private RecommendationContext[] contexts;
+
+	@Setup
+	public void setUp() {
+		constraintList = SyntheticCatalog.constraints(constraints, new SpelExpressionCache(4096, compilerMode));
+		contexts = SyntheticCatalog.contexts(SyntheticCatalog.securityPatterns(CONTEXTS));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONTEXTS)
+	public void score(Blackhole blackhole) {
+		for (RecommendationContext context : contexts) {
+			blackhole.consume(constraintEvaluator.score(constraintList, context));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONTEXTS)
+	public void scoreAndExplain(Blackhole blackhole) {
+		for (RecommendationContext context : contexts) {
+			blackhole.consume(constraintEvaluator.score(constraintList, context));
+			blackhole.consume(constraintEvaluator.explain(constraintList, context));
+		}
+	}
+}
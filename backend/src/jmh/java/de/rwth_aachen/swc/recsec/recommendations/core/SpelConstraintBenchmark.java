@@ -0,0 +1,67 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelConstraint;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelExpressionCache;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.expression.spel.SpelCompilerMode;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the evaluation of a single hard and a single soft {@link SpelConstraint}, interpreted and compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpelConstraintBenchmark {
+
+	private static final int CONTEXTS = 100;
+
+	@Param({"OFF", "IMMEDIATE"})
+	public SpelCompilerMode compilerMode;
+
+	private SpelConstraint hardConstraint;
+	private SpelConstraint softConstraint;
+	private RecommendationContext[] contexts;
+
+	@Setup
+	public void setUp() {
+		List<SpelConstraint> constraints = SyntheticCatalog.constraints(2, new SpelExpressionCache(1024, compilerMode));
+		hardConstraint = constraints.get(0);
+		softConstraint = constraints.get(1);
+		contexts = SyntheticCatalog.contexts(SyntheticCatalog.securityPatterns(CONTEXTS));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONTEXTS)
+	public void hardConstraint(Blackhole blackhole) {
+		for (RecommendationContext context : contexts) {
+			blackhole.consume(hardConstraint.evaluate(context));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CONTEXTS)
+	public void softConstraint(Blackhole blackhole) {
+		for (RecommendationContext context : contexts) {
+			blackhole.consume(softConstraint.evaluate(context));
+		}
+	}
+}
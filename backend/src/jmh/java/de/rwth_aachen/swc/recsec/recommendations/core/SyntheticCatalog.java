@@ -0,0 +1,129 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelConstraint;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelExpressionCache;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityControlDTO;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic security pattern catalogs and constraints for the benchmarks.
+ *
+ * The data follows the shapes of `R__security_patterns.sql`: every pattern rates the same properties with a
+ * score from 1 to 5 and a rationale, and the constraints compare these scores against thresholds, guarded by
+ * applicability expressions over the project properties and the user preferences. Every tenth constraint is
+ * hard; every fiftieth is a selective hard constraint that rejects about a fifth of the patterns. Generation
+ * is seeded, so all runs measure the same data.
+ */
+final class SyntheticCatalog {
+
+	static final long SECURITY_CONTROL_ID = 1L;
+
+	private static final long SEED = 42L;
+
+	private static final List<String> PROPERTIES = List.of(
+			"cost", "usability", "compliance", "performance", "scalability", "auditability", "availability",
+			"confidentiality", "mfa_suitability", "device_dependency", "security_strength", "recovery_complexity",
+			"maintenance_complexity", "resistance_to_phishing", "third_party_dependency", "authentication_strength",
+			"implementation_complexity", "infrastructure_dependency");
+
+	private static final List<String> HARD_APPLICABILITY_EXPRESSIONS = List.of(
+			"project.properties['userBaseSize'] == 'LARGE'",
+			"project.properties['typeOfData'].contains('FINANCIAL')");
+
+	private static final String SOFT_APPLICABILITY_EXPRESSION =
+			"userPreferences['securityUsabilityTradeoff'] == 'USABILITY'";
+
+	private SyntheticCatalog() { }
+
+	static List<SecurityPatternDTO> securityPatterns(int count) {
+		SplittableRandom random = new SplittableRandom(SEED);
+		SecurityControlDTO securityControl = new SecurityControlDTO(SECURITY_CONTROL_ID, "AUTHENTICATION");
+
+		List<SecurityPatternDTO> securityPatterns = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++) {
+			Map<String, Object> properties = new LinkedHashMap<>();
+			for (String property : PROPERTIES) {
+				properties.put(property, Map.of(
+						"score", random.nextInt(1, 6),
+						"rationale", "Synthetic rationale for " + property + "."));
+			}
+			securityPatterns.add(new SecurityPatternDTO(
+					(long) i,
+					"Pattern " + i,
+					Map.of("intent", "Synthetic security pattern " + i + "."),
+					properties,
+					securityControl));
+		}
+		return List.copyOf(securityPatterns);
+	}
+
+	static List<SpelConstraint> constraints(int count, SpelExpressionCache expressionCache) {
+		SplittableRandom random = new SplittableRandom(SEED + 1);
+
+		List<SpelConstraint> constraints = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			String property = PROPERTIES.get(random.nextInt(PROPERTIES.size()));
+			String score = "securityPattern.properties['" + property + "']['score']";
+			String satisfiedExplanation = "securityPattern.name + ' meets the requirement for " + property
+					+ ", with an assessed score of: ' + " + score;
+
+			if (i % 10 == 0) {
+				int threshold = i % 50 == 0 ? 2 : 1;
+				constraints.add(new SpelConstraint(
+						(long) i + 1,
+						HARD_APPLICABILITY_EXPRESSIONS.get((i / 10) % HARD_APPLICABILITY_EXPRESSIONS.size()),
+						score + " >= " + threshold,
+						satisfiedExplanation,
+						"''",
+						1,
+						true,
+						"Hard constraint " + i,
+						"Synthetic hard constraint on " + property + ".",
+						expressionCache));
+			} else {
+				constraints.add(new SpelConstraint(
+						(long) i + 1,
+						SOFT_APPLICABILITY_EXPRESSION,
+						score + " >= " + random.nextInt(2, 6),
+						satisfiedExplanation,
+						"securityPattern.name + ' only has an assessed " + property + " of: ' + " + score,
+						random.nextInt(1, 4),
+						false,
+						"Soft constraint " + i,
+						"Synthetic soft constraint on " + property + ".",
+						expressionCache));
+			}
+		}
+		return List.copyOf(constraints);
+	}
+
+	static ProjectDTO project() {
+		return new ProjectDTO(
+				1L,
+				"Benchmark project",
+				Map.of("userBaseSize", "LARGE", "typeOfData", List.of("PERSONAL", "FINANCIAL")),
+				null,
+				null,
+				List.of());
+	}
+
+	static Map<String, Object> userPreferences() {
+		return Map.of("securityUsabilityTradeoff", "USABILITY");
+	}
+
+	static RecommendationContext[] contexts(List<SecurityPatternDTO> securityPatterns) {
+		ProjectDTO project = project();
+		Map<String, Object> userPreferences = userPreferences();
+		return securityPatterns.stream()
+				.map(securityPattern -> new RecommendationContext(securityPattern, project, userPreferences))
+				.toArray(RecommendationContext[]::new);
+	}
+}
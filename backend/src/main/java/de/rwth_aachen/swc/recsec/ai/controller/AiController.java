@@ -3,12 +3,18 @@ package de.rwth_aachen.swc.recsec.ai.controller;
 import de.rwth_aachen.swc.recsec.ai.dto.ChatCompletionRequest;
 import de.rwth_aachen.swc.recsec.ai.dto.NaturalLanguageExplanationRequest;
 import de.rwth_aachen.swc.recsec.ai.service.IAiService;
+import de.rwth_aachen.swc.recsec.ai.service.IExplanationPrecomputeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.security.Principal;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for AI-related endpoints.
@@ -23,14 +29,17 @@ import java.security.Principal;
 public class AiController {
 
     private final IAiService aiService;
+    private final IExplanationPrecomputeService explanationPrecomputeService;
 
     /**
      * Constructs a new AiController with the specified AI service.
      *
      * @param aiService the service to handle AI operations
+     * @param explanationPrecomputeService the service providing explanations generated in the background
      */
-    public AiController(IAiService aiService) {
+    public AiController(IAiService aiService, IExplanationPrecomputeService explanationPrecomputeService) {
         this.aiService = aiService;
+        this.explanationPrecomputeService = explanationPrecomputeService;
     }
 
     /**
@@ -47,6 +56,31 @@ public class AiController {
         return aiService.getChatCompletion(principal.getName(), chatCompletionRequest);
     }
 
+    /**
+     * Handles requests to generate chat completions, streaming the response as Server-Sent Events.
+     *
+     * Each chunk produced by the model is sent as a `token` event, followed by a final `done` event.
+     * If the model call fails, an `error` event is sent instead. Chunks are requested from the model
+     * only as fast as they can be written, and the model call is cancelled when the client disconnects.
+     *
+     * @param principal the security principal of the authenticated user
+     * @param chatCompletionRequest the request containing user input and context for chat completion
+     * @return a {@link Flux} of Server-Sent Events carrying the chat completion
+     */
+    @PostMapping(value = "/chat-completion/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream Chat Completion", description = "Streams a chat response based on user input and context as Server-Sent Events.")
+    public Flux<ServerSentEvent<String>> streamChatCompletion(Principal principal, @RequestBody ChatCompletionRequest chatCompletionRequest) {
+        log.info("Received streaming chat completion request from user: {}", principal.getName());
+        return aiService.streamChatCompletion(principal.getName(), chatCompletionRequest)
+                .map(token -> ServerSentEvent.builder(token).event("token").build())
+                .concatWith(Mono.just(ServerSentEvent.<String>builder().event("done").data("").build()))
+                .onErrorResume(e -> {
+                    log.error("Error streaming chat completion: {}", e.getMessage(), e);
+                    return Mono.just(ServerSentEvent.<String>builder().event("error").data("Chat completion failed.").build());
+                })
+                .doOnCancel(() -> log.info("Client of user {} disconnected from chat completion stream", principal.getName()));
+    }
+
     /**
      * Handles requests to provide natural language explanations for security patterns.
      *
@@ -62,4 +96,21 @@ public class AiController {
                 naturalLanguageExplanationRequest.explanations()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Handles requests for the natural language explanation of a recommendation generated in the background.
+     *
+     * The response is sent as soon as the explanation is ready, so clients can request it right after
+     * receiving the recommendations. Unknown recommendation IDs, e.g. of expired or dropped jobs, result in
+     * 404, in which case clients fall back to {@code /ai/natural-language-explanation}.
+     *
+     * @param recommendationId the ID of the recommendation, as returned with the recommendation
+     * @return a future completed with the natural language explanation
+     */
+    @GetMapping("/natural-language-explanations/{recommendationId}")
+    @Operation(summary = "Get Precomputed Natural Language Explanation", description = "Returns the natural language explanation of a recommendation once it has been generated in the background.")
+    public CompletableFuture<String> getPrecomputedNaturalLanguageExplanation(@PathVariable String recommendationId) {
+        log.info("Received precomputed natural language explanation request for recommendation: {}", recommendationId);
+        return explanationPrecomputeService.getNaturalLanguageExplanation(recommendationId);
+    }
+}
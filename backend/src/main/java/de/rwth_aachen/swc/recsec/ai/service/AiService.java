@@ -6,15 +6,18 @@ import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
 import de.rwth_aachen.swc.recsec.projects.service.IProjectService;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.messages.*;
 import org.springframework.ai.chat.prompt.Prompt;
 import org.springframework.ai.chat.prompt.PromptTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,21 +33,42 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AiService implements IAiService {
 
-    private final ChatClient chatModel;
+    private final LlmGateway llmGateway;
     private final IProjectService projectService;
+    private final NaturalLanguageExplanationCache naturalLanguageExplanationCache;
 
     @Value("classpath:/prompts/natural-language-explanation.st")
     private Resource naturalLanguageExplanationTemplate;
 
+    /**
+     * The content of the natural language explanation template, read once at startup.
+     */
+    private String naturalLanguageExplanationPrompt;
+
     /**
      * Constructs a new AiService with the specified dependencies.
      *
-     * @param chatClient the ChatClient.Builder used to create the chat model instance
+     * @param llmGateway the gateway through which the chat model is called
      * @param projectService the project service for fetching project-related information
+     * @param naturalLanguageExplanationCache the cache for previously generated explanations
      */
-    public AiService(ChatClient.Builder chatClient, IProjectService projectService) {
-        this.chatModel = chatClient.build();
+    public AiService(
+            LlmGateway llmGateway,
+            IProjectService projectService,
+            NaturalLanguageExplanationCache naturalLanguageExplanationCache) {
+        this.llmGateway = llmGateway;
         this.projectService = projectService;
+        this.naturalLanguageExplanationCache = naturalLanguageExplanationCache;
+    }
+
+    /**
+     * Reads the prompt templates.
+     *
+     * @throws IOException if a template cannot be read
+     */
+    @PostConstruct
+    void loadPromptTemplates() throws IOException {
+        naturalLanguageExplanationPrompt = naturalLanguageExplanationTemplate.getContentAsString(StandardCharsets.UTF_8);
     }
 
     /**
@@ -78,6 +102,38 @@ public class AiService implements IAiService {
     public String getChatCompletion(String userId, ChatCompletionRequest chatCompletionRequest) {
         log.info("Generating chat completion for user: {}", userId);
 
+        // Generate and return the chat completion
+        return llmGateway.call(createChatPrompt(userId, chatCompletionRequest));
+    }
+
+    /**
+     * Generates a chat completion based on user input and project-specific context, emitting the
+     * response piece by piece as the model produces it.
+     *
+     * The prompt, including the project lookup, is built before this method returns, so that an unknown
+     * project fails the request instead of the stream. The model is only called once the returned
+     * {@link Flux} is subscribed to, and the call is aborted when the subscription is cancelled.
+     *
+     * @param userId the ID of the user initiating the request
+     * @param chatCompletionRequest the request containing messages and project ID
+     * @return a {@link Flux} emitting the chunks of the generated chat completion
+     */
+    @Override
+    public Flux<String> streamChatCompletion(String userId, ChatCompletionRequest chatCompletionRequest) {
+        log.info("Streaming chat completion for user: {}", userId);
+
+        Prompt prompt = createChatPrompt(userId, chatCompletionRequest);
+        return llmGateway.stream(prompt);
+    }
+
+    /**
+     * Creates the chat prompt from the conversation and the project-specific context.
+     *
+     * @param userId the ID of the user initiating the request
+     * @param chatCompletionRequest the request containing messages and project ID
+     * @return the prompt to send to the chat model
+     */
+    private Prompt createChatPrompt(String userId, ChatCompletionRequest chatCompletionRequest) {
         // Map incoming messages to specific message types
         List<Message> messages = chatCompletionRequest.messages().stream()
                 .map(this::mapAbstractToSpecificMessage)
@@ -91,23 +147,61 @@ public class AiService implements IAiService {
                 "Answer concisely and avoid asking your own questions! " +
                 "Use the following information about the user project to provide useful answers: Project ID: " + project.id()));
 
-        // Generate and return the chat completion
-        return chatModel.prompt(new Prompt(messages)).call().content();
+        return new Prompt(messages);
     }
 
     /**
      * Generates a natural language explanation for a given security pattern and its constraints.
      *
+     * Explanations are cached by their inputs, so the model is only called for combinations of
+     * security pattern and constraint explanations that have not been explained before.
+     *
      * @param securityPattern the security pattern to explain
      * @param explanations a list of constraints or explanations to include
      * @return the generated natural language explanation as a String
      */
     @Override
     public String getNaturalLanguageExplanation(SecurityPatternDTO securityPattern, List<Explanation> explanations) {
+        log.info("Getting natural language explanation for security pattern: {}", securityPattern.id());
+
+        // Use a canonical order, so that the prompt matches the order-independent cache key
+        List<Explanation> sortedExplanations = explanations.stream()
+                .sorted(NaturalLanguageExplanationCache.EXPLANATION_ORDER)
+                .toList();
+
+        return naturalLanguageExplanationCache.get(
+                naturalLanguageExplanationCache.key(securityPattern, sortedExplanations, naturalLanguageExplanationPrompt),
+                () -> generateNaturalLanguageExplanation(securityPattern, sortedExplanations));
+    }
+
+    /**
+     * Computes the content-addressed ID of the natural language explanation for a security pattern and its
+     * constraints. Equal inputs yield the same ID, regardless of the order of the explanations.
+     *
+     * @param securityPattern the security pattern to explain
+     * @param explanations a list of constraints or explanations to include
+     * @return the ID of the natural language explanation
+     */
+    @Override
+    public String getNaturalLanguageExplanationId(SecurityPatternDTO securityPattern, List<Explanation> explanations) {
+        List<Explanation> sortedExplanations = explanations.stream()
+                .sorted(NaturalLanguageExplanationCache.EXPLANATION_ORDER)
+                .toList();
+        return naturalLanguageExplanationCache.key(securityPattern, sortedExplanations, naturalLanguageExplanationPrompt);
+    }
+
+    /**
+     * Calls the chat model to generate a natural language explanation.
+     *
+     * @param securityPattern the security pattern to explain
+     * @param explanations a list of constraints or explanations to include
+     * @return the generated natural language explanation as a String
+     */
+    private String generateNaturalLanguageExplanation(SecurityPatternDTO securityPattern, List<Explanation> explanations) {
         log.info("Generating natural language explanation for security pattern: {}", securityPattern);
 
-        // Create a prompt template using the predefined template file
-        PromptTemplate promptTemplate = new PromptTemplate(naturalLanguageExplanationTemplate);
+        // Create a prompt template using the predefined template
+        PromptTemplate promptTemplate = new PromptTemplate(naturalLanguageExplanationPrompt);
 
         // Populate the template with input data
         Map<String, Object> templateData = new HashMap<>();
@@ -116,6 +210,6 @@ public class AiService implements IAiService {
 
         // Generate and return the explanation using the template
         Prompt prompt = promptTemplate.create(templateData);
-        return chatModel.prompt(prompt).call().content();
+        return llmGateway.call(prompt);
     }
 }
\ No newline at end of file
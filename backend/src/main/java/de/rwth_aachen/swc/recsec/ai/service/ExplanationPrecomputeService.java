@@ -0,0 +1,132 @@
+package de.rwth_aachen.swc.recsec.ai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service implementation generating natural language explanations of recommendations in the background.
+ *
+ * Jobs run on a fixed number of worker threads with a bounded work queue; when the queue is full, further
+ * jobs are dropped and the explanation is generated on demand instead. Recommendation IDs are content-addressed,
+ * so duplicate jobs for the same explanation, e.g. from users with similar projects, are coalesced into one.
+ * Jobs and their results are retained for a limited time.
+ */
+@Service
+@Slf4j
+public class ExplanationPrecomputeService implements IExplanationPrecomputeService {
+
+    private final IAiService aiService;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, CompletableFuture<String>> jobs;
+
+    /**
+     * Whether explanations are generated in the background.
+     * Configurable via the application properties (`ai.precompute.enabled`).
+     */
+    @Value("${ai.precompute.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Constructs a new ExplanationPrecomputeService.
+     *
+     * @param aiService the service generating the explanations
+     * @param threads the number of worker threads (`ai.precompute.threads`)
+     * @param queueCapacity the maximum number of queued jobs (`ai.precompute.queue-capacity`)
+     * @param maximumSize the maximum number of retained jobs (`ai.precompute.maximum-size`)
+     * @param retention the time a job and its result are retained (`ai.precompute.retention`)
+     */
+    public ExplanationPrecomputeService(
+            IAiService aiService,
+            @Value("${ai.precompute.threads:2}") int threads,
+            @Value("${ai.precompute.queue-capacity:200}") int queueCapacity,
+            @Value("${ai.precompute.maximum-size:10000}") long maximumSize,
+            @Value("${ai.precompute.retention:PT30M}") Duration retention) {
+        this.aiService = aiService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "explanation-precompute-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.jobs = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    @Override
+    public void precompute(List<SecurityPatternRecommendation> recommendations) {
+        if (!enabled) {
+            return;
+        }
+
+        for (SecurityPatternRecommendation recommendation : recommendations) {
+            if (recommendation.recommendationId() != null) {
+                // Reuse a pending or successful job for the same explanation, but retry failed ones
+                jobs.asMap().compute(recommendation.recommendationId(), (recommendationId, job) ->
+                        job != null && !job.isCompletedExceptionally() ? job : submit(recommendation));
+            }
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> getNaturalLanguageExplanation(String recommendationId) {
+        CompletableFuture<String> job = jobs.getIfPresent(recommendationId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No explanation queued for recommendation: " + recommendationId);
+        }
+        return job;
+    }
+
+    /**
+     * Shuts down the worker threads, abandoning queued jobs.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submits the generation of an explanation to the work queue.
+     *
+     * @param recommendation the recommendation to explain
+     * @return the future of the explanation, or {@code null} if the work queue is full
+     */
+    private CompletableFuture<String> submit(SecurityPatternRecommendation recommendation) {
+        String recommendationId = recommendation.recommendationId();
+        try {
+            CompletableFuture<String> job = CompletableFuture.supplyAsync(
+                    () -> aiService.getNaturalLanguageExplanation(
+                            recommendation.securityPattern(), recommendation.explanations()),
+                    executor);
+            job.whenComplete((explanation, e) -> {
+                if (e != null) {
+                    log.warn("Could not precompute explanation for recommendation {}: {}", recommendationId, e.getMessage());
+                }
+            });
+            return job;
+        } catch (RejectedExecutionException e) {
+            log.debug("Explanation precompute queue is full, skipping recommendation {}", recommendationId);
+            return null;
+        }
+    }
+}
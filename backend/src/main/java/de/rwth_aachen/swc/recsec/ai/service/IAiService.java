@@ -4,9 +4,13 @@ import de.rwth_aachen.swc.recsec.ai.dto.ChatCompletionRequest;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
 
+import reactor.core.publisher.Flux;
+
 import java.util.List;
 
 public interface IAiService {
     String getChatCompletion(String userId, ChatCompletionRequest chatCompletionRequest);
+    Flux<String> streamChatCompletion(String userId, ChatCompletionRequest chatCompletionRequest);
     String getNaturalLanguageExplanation(SecurityPatternDTO securityPattern, List<Explanation> explanations);
+    String getNaturalLanguageExplanationId(SecurityPatternDTO securityPattern, List<Explanation> explanations);
 }
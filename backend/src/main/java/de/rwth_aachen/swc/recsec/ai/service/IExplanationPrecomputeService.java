@@ -0,0 +1,29 @@
+package de.rwth_aachen.swc.recsec.ai.service;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service interface for generating natural language explanations of recommendations in the background,
+ * so that they are usually ready by the time the user looks at them.
+ */
+public interface IExplanationPrecomputeService {
+
+    /**
+     * Queues the generation of the natural language explanations of the given recommendations.
+     * Recommendations without a recommendation ID are ignored.
+     *
+     * @param recommendations the recommendations to explain
+     */
+    void precompute(List<SecurityPatternRecommendation> recommendations);
+
+    /**
+     * Returns the natural language explanation of a recommendation whose generation has been queued.
+     *
+     * @param recommendationId the ID of the recommendation
+     * @return a future completed with the explanation once it has been generated
+     */
+    CompletableFuture<String> getNaturalLanguageExplanation(String recommendationId);
+}
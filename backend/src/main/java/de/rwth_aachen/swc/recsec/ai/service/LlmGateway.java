@@ -0,0 +1,288 @@
+package de.rwth_aachen.swc.recsec.ai.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Gateway for all outbound calls to the chat model.
+ *
+ * The gateway protects both the application and the model provider:
+ * - at most `ai.gateway.max-concurrent-calls` calls are in flight; further callers wait up to
+ *   `ai.gateway.acquire-timeout` for a free slot and are rejected with 503 afterwards,
+ * - every call is bounded by `ai.gateway.call-timeout` and fails with 504 when exceeded; the slot of a
+ *   timed-out call stays taken until the underlying request actually finishes,
+ * - identical prompts that are in flight at the same time are sent only once (single-flight),
+ * - transient failures (rate limiting, server errors, I/O errors) are retried up to
+ *   `ai.gateway.max-attempts` times with exponential backoff and full jitter.
+ *
+ * The retries of the Spring AI client itself should be disabled (`spring.ai.retry.max-attempts: 1`),
+ * so that failed calls are retried only here, without holding a concurrency slot while backing off.
+ */
+@Component
+@Slf4j
+public class LlmGateway {
+
+    private final ChatClient chatClient;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final Duration callTimeout;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlightCalls = new ConcurrentHashMap<>();
+    private final ExecutorService callExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructs a new LlmGateway.
+     *
+     * @param chatClientBuilder the builder used to create the chat client
+     * @param maxConcurrentCalls the maximum number of calls in flight (`ai.gateway.max-concurrent-calls`)
+     * @param acquireTimeout the maximum time to wait for a free slot (`ai.gateway.acquire-timeout`)
+     * @param callTimeout the maximum duration of a single call (`ai.gateway.call-timeout`)
+     * @param maxAttempts the maximum number of attempts per call (`ai.gateway.max-attempts`)
+     * @param initialBackoff the upper bound of the delay before the first retry (`ai.gateway.initial-backoff`)
+     * @param maxBackoff the upper bound of the delay before any retry (`ai.gateway.max-backoff`)
+     */
+    public LlmGateway(
+            ChatClient.Builder chatClientBuilder,
+            @Value("${ai.gateway.max-concurrent-calls:8}") int maxConcurrentCalls,
+            @Value("${ai.gateway.acquire-timeout:PT5S}") Duration acquireTimeout,
+            @Value("${ai.gateway.call-timeout:PT60S}") Duration callTimeout,
+            @Value("${ai.gateway.max-attempts:3}") int maxAttempts,
+            @Value("${ai.gateway.initial-backoff:PT0.5S}") Duration initialBackoff,
+            @Value("${ai.gateway.max-backoff:PT8S}") Duration maxBackoff) {
+        this.chatClient = chatClientBuilder.build();
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+        this.acquireTimeout = acquireTimeout;
+        this.callTimeout = callTimeout;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Sends a prompt to the chat model and returns the content of the response.
+     *
+     * If an identical prompt is already in flight, no new call is made and its response is shared.
+     *
+     * @param prompt the prompt to send
+     * @return the content of the model's response
+     * @throws ResponseStatusException with 503 if no slot became available in time, with 504 if the call
+     *                                 timed out, or with 502 if the model call failed
+     */
+    public String call(Prompt prompt) {
+        String key = key(prompt);
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> inFlightCall = inFlightCalls.putIfAbsent(key, call);
+        if (inFlightCall != null) {
+            log.debug("Joining in-flight chat model call");
+            return await(inFlightCall);
+        }
+
+        try {
+            call.complete(callWithRetries(prompt));
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+        } finally {
+            inFlightCalls.remove(key, call);
+        }
+        return await(call);
+    }
+
+    /**
+     * Sends a prompt to the chat model and streams the content of the response.
+     *
+     * A slot is held from subscription until the stream terminates or is cancelled. Each chunk has to
+     * arrive within the call timeout. Transient failures are retried only as long as no chunk has been
+     * emitted yet, so that subscribers never receive duplicate content.
+     *
+     * @param prompt the prompt to send
+     * @return a {@link Flux} emitting the chunks of the model's response
+     */
+    public Flux<String> stream(Prompt prompt) {
+        AtomicBoolean emitted = new AtomicBoolean();
+        return Flux.defer(() -> {
+                    acquire();
+                    return chatClient.prompt(prompt).stream().content()
+                            .timeout(callTimeout)
+                            .doOnNext(chunk -> emitted.set(true))
+                            .doFinally(signal -> permits.release());
+                })
+                .retryWhen(Retry.backoff(Math.max(0, maxAttempts - 1), initialBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(1.0)
+                        .filter(e -> !emitted.get() && isRetryable(e))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Shuts down the executor running the model calls.
+     */
+    @PreDestroy
+    void shutdown() {
+        callExecutor.shutdownNow();
+    }
+
+    /**
+     * Calls the chat model, retrying transient failures with jittered exponential backoff.
+     *
+     * @param prompt the prompt to send
+     * @return the content of the model's response
+     */
+    private String callWithRetries(Prompt prompt) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return callOnce(prompt);
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isRetryable(e)) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                log.warn("Chat model call failed (attempt {}/{}), retrying in {} ms: {}",
+                        attempt, maxAttempts, backoff, e.getMessage());
+                sleep(backoff);
+            }
+        }
+    }
+
+    /**
+     * Calls the chat model once, within a concurrency slot and the call timeout.
+     *
+     * The slot is released when the model call finishes, not when the caller gives up waiting. A blocking
+     * HTTP call ignores interrupts, so a timed-out call keeps its request open, and releasing its slot early
+     * would let more than `ai.gateway.max-concurrent-calls` requests be in flight.
+     *
+     * @param prompt the prompt to send
+     * @return the content of the model's response
+     */
+    private String callOnce(Prompt prompt) {
+        acquire();
+        CompletableFuture<String> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> chatClient.prompt(prompt).call().content(), callExecutor);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        future.whenComplete((content, failure) -> permits.release());
+
+        try {
+            return future.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "The language model did not respond in time.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "The language model call failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The language model call was interrupted.");
+        }
+    }
+
+    /**
+     * Acquires a concurrency slot, waiting at most for the acquire timeout.
+     */
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The language model is currently overloaded.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for the language model.");
+        }
+    }
+
+    /**
+     * Waits for the result of a call, unwrapping its failure.
+     *
+     * @param call the call to wait for
+     * @return the content of the model's response
+     */
+    private static String await(CompletableFuture<String> call) {
+        try {
+            return call.join();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a failed call may succeed when retried.
+     *
+     * With `spring.ai.retry.on-http-codes`, the Spring AI client reports rate limiting (429) and server
+     * errors (5xx) as {@link TransientAiException}.
+     *
+     * @param e the failure
+     * @return true if the call should be retried, false otherwise
+     */
+    private static boolean isRetryable(Throwable e) {
+        return e instanceof TransientAiException || e instanceof ResourceAccessException;
+    }
+
+    /**
+     * Computes the delay before a retry: a random duration up to the exponentially growing, capped backoff.
+     *
+     * @param attempt the number of the failed attempt, starting at 1
+     * @return the delay in milliseconds
+     */
+    private long backoffMillis(int attempt) {
+        long cap = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Sleeps for the given time, failing the call if interrupted.
+     *
+     * @param millis the time to sleep in milliseconds
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while retrying the language model call.");
+        }
+    }
+
+    /**
+     * Computes the single-flight key of a prompt from its messages and options.
+     *
+     * @param prompt the prompt
+     * @return the key identifying identical prompts
+     */
+    private static String key(Prompt prompt) {
+        return prompt.getInstructions().stream()
+                .map(message -> message.getMessageType() + ":" + message.getContent())
+                .collect(Collectors.joining("\n", String.valueOf(prompt.getOptions()) + "\n", ""));
+    }
+}
@@ -0,0 +1,164 @@
+package de.rwth_aachen.swc.recsec.ai.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache for generated natural language explanations.
+ *
+ * A generated explanation only depends on the security pattern, the constraint explanations, the prompt
+ * template and the model. Entries are therefore keyed by a SHA-256 hash over exactly these inputs, so that
+ * identical recommendation results share one explanation across users and projects, and any change of an
+ * input, including an edited template or a different model, addresses a new entry.
+ */
+@Component
+@Slf4j
+public class NaturalLanguageExplanationCache {
+
+    /**
+     * Orders explanations independently of the order the constraints were evaluated in.
+     */
+    static final Comparator<Explanation> EXPLANATION_ORDER = Comparator
+            .comparing(Explanation::constraintName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Explanation::rationale, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Explanation::isHard)
+            .thenComparing(Explanation::applicable)
+            .thenComparing(Explanation::satisfied);
+
+    private final ObjectMapper canonicalObjectMapper;
+    private final String model;
+    private final AsyncCache<String, String> cache;
+
+    /**
+     * Whether generated explanations are cached.
+     * Configurable via the application properties (`ai.explanation-cache.enabled`).
+     */
+    @Value("${ai.explanation-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Constructs a new NaturalLanguageExplanationCache.
+     *
+     * @param objectMapper the application's object mapper, used as a template for hashing
+     * @param model the name of the chat model generating the explanations
+     * @param maximumSize the maximum number of cached explanations (`ai.explanation-cache.maximum-size`)
+     * @param ttl the time after which a cached explanation expires (`ai.explanation-cache.ttl`)
+     */
+    public NaturalLanguageExplanationCache(
+            ObjectMapper objectMapper,
+            @Value("${spring.ai.openai.chat.options.model:}") String model,
+            @Value("${ai.explanation-cache.maximum-size:10000}") long maximumSize,
+            @Value("${ai.explanation-cache.ttl:PT24H}") Duration ttl) {
+        // Sorted map keys and dropped null values make equal inputs serialize identically
+        this.canonicalObjectMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+        this.model = model;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached explanation for the given key, generating and caching it on a miss.
+     *
+     * Concurrent requests with identical keys generate the explanation only once. The key is claimed
+     * atomically with a pending future, and the explanation is generated on the calling thread afterwards,
+     * so that the model call does not run inside the cache's compute and block other keys. Failed
+     * generations are not cached.
+     *
+     * @param key the key computed by {@link #key(SecurityPatternDTO, List, String)}
+     * @param generator generates the explanation on a cache miss
+     * @return the natural language explanation
+     */
+    public String get(String key, Supplier<String> generator) {
+        if (!enabled) {
+            return generator.get();
+        }
+
+        CompletableFuture<String> explanation = new CompletableFuture<>();
+        CompletableFuture<String> cachedExplanation = cache.asMap().putIfAbsent(key, explanation);
+        if (cachedExplanation != null) {
+            return await(cachedExplanation);
+        }
+
+        log.debug("Natural language explanation cache miss for key: {}", key);
+        try {
+            String generatedExplanation = generator.get();
+            explanation.complete(generatedExplanation);
+            return generatedExplanation;
+        } catch (Throwable e) {
+            // Complete on any failure, errors included, so that waiting callers are never left blocked
+            explanation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for an explanation, unwrapping the failure of its generation.
+     *
+     * @param explanation the pending or completed explanation
+     * @return the natural language explanation
+     */
+    private static String await(CompletableFuture<String> explanation) {
+        try {
+            return explanation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Computes the key of an explanation as a SHA-256 hash over the inputs it depends on.
+     *
+     * @param securityPattern the security pattern to explain
+     * @param explanations the constraint explanations of the recommendation
+     * @param promptTemplate the content of the prompt template
+     * @return the hex-encoded hash
+     */
+    public String key(SecurityPatternDTO securityPattern, List<Explanation> explanations, String promptTemplate) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+
+            Map<String, Object> inputs = new LinkedHashMap<>();
+            inputs.put("securityPattern", securityPattern);
+            inputs.put("explanations", explanations.stream().sorted(EXPLANATION_ORDER).toList());
+            inputs.put("promptTemplate", HexFormat.of().formatHex(
+                    digest.digest(promptTemplate.getBytes(StandardCharsets.UTF_8))));
+            inputs.put("model", model);
+
+            return HexFormat.of().formatHex(digest.digest(canonicalObjectMapper.writeValueAsBytes(inputs)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash natural language explanation inputs", e);
+        }
+    }
+}
@@ -1,37 +1,100 @@
 package de.rwth_aachen.swc.recsec.config;
 
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import de.rwth_aachen.swc.recsec.recommendations.dto.PreferenceElicitationDialogDTO;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * Configuration class for enabling and setting up caching using Redis.
+ * Configuration class for enabling and setting up caching.
  *
- * This configuration uses Spring's caching abstraction and configures
- * a Redis-backed cache with custom serialization for keys and values.
+ * This configuration uses Spring's caching abstraction with two levels: a bounded in-process
+ * Caffeine cache in front of a Redis-backed cache with custom serialization for keys and values.
+ * Local caches of other nodes are invalidated through Redis pub/sub.
+ *
+ * Caches with a statically known value type are serialized without embedded type information, either as
+ * JSON or, if listed in `cache.redis.binary-caches`, as binary Smile. Large values are compressed.
+ * All other caches fall back to polymorphic JSON.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
     /**
-     * Configures the RedisCacheManager bean.
+     * Configures the two-tier cache manager.
      *
      * @param connectionFactory the RedisConnectionFactory to establish connections to the Redis server
-     * @return a configured instance of RedisCacheManager
+     * @param redisTemplate the template used to publish cache invalidations
+     * @param localMaximumSize the maximum number of entries per local cache (`cache.local.maximum-size`)
+     * @param localTtl the time after which a local entry expires (`cache.local.ttl`)
+     * @param binaryCaches the names of the caches stored as Smile instead of JSON (`cache.redis.binary-caches`)
+     * @param compressionThreshold the value size in bytes above which values are compressed, negative to disable
+     *                             (`cache.redis.compression-threshold`)
+     * @return a configured instance of TwoTierCacheManager
+     */
+    @Bean
+    public TwoTierCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            @Value("${cache.local.maximum-size:1000}") long localMaximumSize,
+            @Value("${cache.local.ttl:PT5M}") Duration localTtl,
+            @Value("${cache.redis.binary-caches:}") String[] binaryCaches,
+            @Value("${cache.redis.compression-threshold:2048}") int compressionThreshold) {
+        RedisCacheManager redisCacheManager =
+                redisCacheManager(connectionFactory, Set.of(binaryCaches), compressionThreshold);
+        return new TwoTierCacheManager(redisCacheManager, redisTemplate, localMaximumSize, localTtl);
+    }
+
+    /**
+     * Configures the listener container receiving cache invalidations from other nodes.
+     *
+     * @param connectionFactory the RedisConnectionFactory to establish connections to the Redis server
+     * @param cacheManager the cache manager whose local caches are invalidated
+     * @return a configured instance of RedisMessageListenerContainer
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoTierCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+    /**
+     * Creates the RedisCacheManager providing the shared cache level.
+     *
+     * @param connectionFactory the RedisConnectionFactory to establish connections to the Redis server
+     * @param binaryCaches the names of the caches stored as Smile instead of JSON
+     * @param compressionThreshold the value size in bytes above which values are compressed
+     * @return a configured instance of RedisCacheManager
+     */
+    private RedisCacheManager redisCacheManager(
+            RedisConnectionFactory connectionFactory,
+            Set<String> binaryCaches,
+            int compressionThreshold) {
         RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))
                 .disableCachingNullValues()
@@ -43,8 +106,41 @@ public class CacheConfig {
                                         LaissezFaireSubTypeValidator.instance,
                                         ObjectMapper.DefaultTyping.NON_FINAL))));
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(defaultCacheConfig)
-                .build();
+        ObjectMapper jsonMapper = new ObjectMapper().findAndRegisterModules();
+        ObjectMapper smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(defaultCacheConfig);
+        cacheValueTypes(jsonMapper.getTypeFactory()).forEach((cacheName, valueType) -> {
+            boolean binary = binaryCaches.contains(cacheName);
+            String format = binary ? "smile" : "json";
+            builder.withCacheConfiguration(cacheName, defaultCacheConfig
+                    // Keep differently encoded entries apart when the format of a cache is switched
+                    .computePrefixWith(name -> name + ":" + format + "::")
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                            new TypedJacksonRedisSerializer<>(
+                                    binary ? smileMapper : jsonMapper, valueType, compressionThreshold))));
+        });
+
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
+        return redisCacheManager;
+    }
+
+    /**
+     * Returns the value types of the caches that are serialized without embedded type information.
+     *
+     * @param typeFactory the type factory used to construct the value types
+     * @return the value type per cache name
+     */
+    private static Map<String, JavaType> cacheValueTypes(TypeFactory typeFactory) {
+        JavaType securityPatternList = typeFactory.constructCollectionType(List.class, SecurityPatternDTO.class);
+        JavaType preferenceElicitationDialog = typeFactory.constructType(PreferenceElicitationDialogDTO.class);
+        return Map.of(
+                "securityPatternsCache", typeFactory.constructType(SecurityPatternDTO.class),
+                "allSecurityPatternsCache", securityPatternList,
+                "securityPatternsByControlCache", securityPatternList,
+                "preferenceElicitationDialogsByControlCache", preferenceElicitationDialog,
+                "preferenceElicitationDialogsByPatternCache", preferenceElicitationDialog);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package de.rwth_aachen.swc.recsec.config;
+
+import de.rwth_aachen.swc.recsec.recommendations.service.IRecommendationService;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityControlDTO;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import de.rwth_aachen.swc.recsec.security_patterns.service.ISecurityPatternService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Preloads the security pattern catalog and the preference elicitation dialogs into the caches at startup.
+ *
+ * Application runners complete before Spring Boot publishes the readiness state {@code ACCEPTING_TRAFFIC},
+ * so the readiness probe only reports the application as ready once the caches are warm. A failed warm-up
+ * is logged but does not prevent startup; the affected entries are then loaded on first use.
+ */
+@Component
+@Slf4j
+public class CacheWarmUp implements ApplicationRunner {
+
+    private final ISecurityPatternService securityPatternService;
+    private final IRecommendationService recommendationService;
+    private final boolean enabled;
+
+    /**
+     * Constructs a new CacheWarmUp.
+     *
+     * @param securityPatternService the service providing the security pattern catalog
+     * @param recommendationService the service providing the preference elicitation dialogs
+     * @param enabled whether the caches are warmed up at startup (`cache.warm-up.enabled`)
+     */
+    public CacheWarmUp(
+            ISecurityPatternService securityPatternService,
+            IRecommendationService recommendationService,
+            @Value("${cache.warm-up.enabled:true}") boolean enabled) {
+        this.securityPatternService = securityPatternService;
+        this.recommendationService = recommendationService;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Warms up the caches through the cached service methods.
+     *
+     * @param args the application arguments, unused
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            List<SecurityPatternDTO> securityPatterns = securityPatternService.getSecurityPatterns();
+
+            Set<Long> securityControlIds = new TreeSet<>();
+            for (SecurityPatternDTO securityPattern : securityPatterns) {
+                securityPatternService.getSecurityPatternById(securityPattern.id());
+                warmUpDialog(() -> recommendationService.getPreferenceElicitationDialogBySecurityPatternId(
+                        securityPattern.id()));
+
+                SecurityControlDTO securityControl = securityPattern.securityControl();
+                if (securityControl != null) {
+                    securityControlIds.add(securityControl.id());
+                }
+            }
+
+            for (Long securityControlId : securityControlIds) {
+                securityPatternService.getSecurityPatternsBySecurityControlId(securityControlId);
+                warmUpDialog(() -> recommendationService.getPreferenceElicitationDialogBySecurityControlId(
+                        securityControlId));
+            }
+
+            log.info("Warmed up caches for {} security patterns and {} security controls in {} ms",
+                    securityPatterns.size(), securityControlIds.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up failed, entries will be loaded on first use", e);
+        }
+    }
+
+    /**
+     * Loads a preference elicitation dialog into the cache, ignoring dialogs that do not exist.
+     *
+     * @param loader the cached service call loading the dialog
+     */
+    private static void warmUpDialog(Runnable loader) {
+        try {
+            loader.run();
+        } catch (ResponseStatusException e) {
+            // Not every security control and pattern has a preference elicitation dialog
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.rwth_aachen.swc.recsec.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration class for the recommendation engine.
+ *
+ * Provides the dedicated, bounded thread pool used to evaluate security patterns in parallel.
+ */
+@Configuration
+@Slf4j
+public class RecommendationConfig {
+
+    /**
+     * Creates the fork-join pool used for parallel pattern evaluation.
+     *
+     * @param parallelism the number of worker threads (configurable via `recommendation.parallel.parallelism`);
+     *                    values below 1 use the number of available processors
+     * @return a dedicated {@link ForkJoinPool}
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool recommendationEvaluationPool(
+            @Value("${recommendation.parallel.parallelism:0}") int parallelism) {
+        int poolSize = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        log.info("Creating recommendation evaluation pool with parallelism {}", poolSize);
+        return new ForkJoinPool(poolSize);
+    }
+}
@@ -0,0 +1,15 @@
+package de.rwth_aachen.swc.recsec.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class for enabling scheduled tasks.
+ *
+ * Scheduled tasks are used for periodic background work, such as detecting
+ * changes to the constraint definitions.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,17 +1,27 @@
 package de.rwth_aachen.swc.recsec.config;
 
+import de.rwth_aachen.swc.recsec.projects.controller.ProjectController;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Security configuration for the application.
@@ -30,6 +40,13 @@ public class SecurityConfig {
     @Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}")
     private String jwkSetUri;
 
+    /**
+     * The port the actuator endpoints are served on (`management.server.port`).
+     * This port is not published, so only the orchestrator and the metrics scraper can reach it.
+     */
+    @Value("${management.server.port:8082}")
+    private int managementPort;
+
     /**
      * Configures the SecurityFilterChain bean.
      *
@@ -47,16 +64,47 @@ public class SecurityConfig {
                         // Allow public access to API documentation and Swagger UI
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui/**").permitAll()
+                        // Allow the orchestrator's health probes and the metrics scraper to access the actuator
+                        // endpoints, which are only served on the internal management port
+                        .requestMatchers(new AndRequestMatcher(
+                                EndpointRequest.toAnyEndpoint(),
+                                request -> request.getLocalPort() == managementPort)).permitAll()
+                        // Restrict the admin endpoints to users with the admin realm role
+                        .requestMatchers("/admin/**").hasRole("admin")
                         // Require authentication for all other requests
                         .anyRequest().authenticated()
                 )
                 // Set up OAuth2 resource server for JWT validation
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwkSetUri(jwkSetUri)));
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
+                        .jwkSetUri(jwkSetUri)
+                        .jwtAuthenticationConverter(jwtAuthenticationConverter())));
 
         // Build and return the configured SecurityFilterChain
         return http.build();
     }
 
+    /**
+     * Creates the converter mapping a JWT to an authentication.
+     *
+     * In addition to the default scope authorities, the Keycloak realm roles in the `realm_access.roles`
+     * claim are mapped to `ROLE_` authorities.
+     *
+     * @return the configured JwtAuthenticationConverter
+     */
+    private static JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter scopeAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(jwt -> {
+            Collection<GrantedAuthority> authorities = new ArrayList<>(scopeAuthoritiesConverter.convert(jwt));
+            Map<String, Object> realmAccess = jwt.getClaimAsMap("realm_access");
+            if (realmAccess != null && realmAccess.get("roles") instanceof Collection<?> roles) {
+                roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+            }
+            return authorities;
+        });
+        return converter;
+    }
+
     /**
      * Configures the CORS settings for the application.
      *
@@ -71,6 +119,8 @@ public class SecurityConfig {
         configuration.setAllowedMethods(List.of("GET", "POST", "PATCH", "PUT", "DELETE", "OPTIONS"));
         // Allow all headers in cross-origin requests
         configuration.setAllowedHeaders(List.of("*"));
+        // Expose the pagination cursor of the project listing to the frontend
+        configuration.setExposedHeaders(List.of(ProjectController.NEXT_CURSOR_HEADER));
         // Enable sending of credentials in CORS requests
         configuration.setAllowCredentials(true);
 
@@ -0,0 +1,134 @@
+package de.rwth_aachen.swc.recsec.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Cache} combining a local, in-process first level with a shared second level.
+ *
+ * Reads are served from the local level whenever possible and fall back to the shared level, populating
+ * the local level on the way. Writes go to both levels and are announced to the other application nodes
+ * through the owning {@link TwoTierCacheManager}, so that they drop their now stale local entries.
+ *
+ * Local entries are keyed by the string representation of the cache key, which matches the key
+ * representation used by the shared Redis level and by invalidation messages.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache;
+    private final Cache sharedCache;
+    private final TwoTierCacheManager cacheManager;
+
+    /**
+     * Constructs a new TwoTierCache.
+     *
+     * @param name the name of the cache
+     * @param localCache the local, in-process first level
+     * @param sharedCache the shared second level
+     * @param cacheManager the cache manager used to broadcast invalidations
+     */
+    TwoTierCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> localCache,
+            Cache sharedCache,
+            TwoTierCacheManager cacheManager) {
+        this.name = name;
+        this.localCache = localCache;
+        this.sharedCache = sharedCache;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return sharedCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = toLocalKey(key);
+        ValueWrapper valueWrapper = localCache.getIfPresent(localKey);
+        if (valueWrapper == null) {
+            valueWrapper = sharedCache.get(key);
+            if (valueWrapper != null) {
+                localCache.put(localKey, valueWrapper);
+            }
+        }
+        return valueWrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valueWrapper = get(key);
+        Object value = valueWrapper != null ? valueWrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valueWrapper = localCache.get(toLocalKey(key),
+                localKey -> new SimpleValueWrapper(sharedCache.get(key, valueLoader)));
+        return (T) valueWrapper.get();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        sharedCache.put(key, value);
+        String localKey = toLocalKey(key);
+        localCache.put(localKey, new SimpleValueWrapper(value));
+        cacheManager.publishEviction(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        sharedCache.evict(key);
+        String localKey = toLocalKey(key);
+        localCache.invalidate(localKey);
+        cacheManager.publishEviction(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        sharedCache.clear();
+        localCache.invalidateAll();
+        cacheManager.publishClear(name);
+    }
+
+    /**
+     * Removes an entry from the local level only, in response to a change made on another node.
+     *
+     * @param localKey the string representation of the cache key
+     */
+    void evictLocal(String localKey) {
+        localCache.invalidate(localKey);
+    }
+
+    /**
+     * Removes all entries from the local level only, in response to a change made on another node.
+     */
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    /**
+     * Converts a cache key to the representation used by the local level.
+     *
+     * @param key the cache key
+     * @return the string representation of the key
+     */
+    private static String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,135 @@
+package de.rwth_aachen.swc.recsec.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link CacheManager} creating {@link TwoTierCache}s: a size- and TTL-bounded local Caffeine level in
+ * front of the caches of a shared (Redis) cache manager.
+ *
+ * Local levels of other application nodes are kept consistent through Redis pub/sub: every write or eviction
+ * is published on an invalidation channel, and received messages from other nodes evict the affected local
+ * entries. Messages have the form {@code origin|cacheName|E|key} for evictions and {@code origin|cacheName|C}
+ * for clears.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * The Redis pub/sub channel used to broadcast cache invalidations.
+     */
+    public static final String INVALIDATION_CHANNEL = "recsec:cache-invalidation";
+
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    /**
+     * Identifies this node, so that it can ignore its own invalidation messages.
+     */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager sharedCacheManager;
+    private final StringRedisTemplate redisTemplate;
+    private final long localMaximumSize;
+    private final Duration localTtl;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new TwoTierCacheManager.
+     *
+     * @param sharedCacheManager the cache manager providing the shared second level
+     * @param redisTemplate the template used to publish invalidation messages
+     * @param localMaximumSize the maximum number of entries in each local cache
+     * @param localTtl the time after which a local entry expires
+     */
+    public TwoTierCacheManager(
+            CacheManager sharedCacheManager,
+            StringRedisTemplate redisTemplate,
+            long localMaximumSize,
+            Duration localTtl) {
+        this.sharedCacheManager = sharedCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localMaximumSize = localMaximumSize;
+        this.localTtl = localTtl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache sharedCache = sharedCacheManager.getCache(cacheName);
+            if (sharedCache == null) {
+                return null;
+            }
+            return new TwoTierCache(
+                    cacheName,
+                    Caffeine.newBuilder()
+                            .maximumSize(localMaximumSize)
+                            .expireAfterWrite(localTtl)
+                            .build(),
+                    sharedCache,
+                    this);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return sharedCacheManager.getCacheNames();
+    }
+
+    /**
+     * Handles an invalidation message published by another node.
+     *
+     * @param message the received message
+     * @param pattern the channel pattern the message matched, unused
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CLEAR.equals(parts[2])) {
+            log.debug("Clearing local cache '{}' after change on another node", parts[1]);
+            cache.clearLocal();
+        } else if (EVICT.equals(parts[2]) && parts.length == 4) {
+            log.debug("Evicting key '{}' from local cache '{}' after change on another node", parts[3], parts[1]);
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    /**
+     * Announces the eviction of a single entry to the other nodes.
+     *
+     * @param cacheName the name of the cache
+     * @param localKey the string representation of the evicted key
+     */
+    void publishEviction(String cacheName, String localKey) {
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.join("|", nodeId, cacheName, EVICT, localKey));
+    }
+
+    /**
+     * Announces the clearing of a cache to the other nodes.
+     *
+     * @param cacheName the name of the cache
+     */
+    void publishClear(String cacheName) {
+        redisTemplate.convertAndSend(INVALIDATION_CHANNEL, String.join("|", nodeId, cacheName, CLEAR));
+    }
+}
@@ -0,0 +1,106 @@
+package de.rwth_aachen.swc.recsec.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A {@link RedisSerializer} for cache values of a single, statically known type.
+ *
+ * Unlike {@code GenericJackson2JsonRedisSerializer} with default typing, no class names are embedded in
+ * the payload, since the target type is fixed per cache. The data format is determined by the given
+ * {@link ObjectMapper}, e.g. plain JSON or binary Smile. Payloads larger than the compression threshold
+ * are gzip-compressed; a leading header byte records whether a value is compressed.
+ *
+ * @param <T> the type of the cached values
+ */
+public class TypedJacksonRedisSerializer<T> implements RedisSerializer<T> {
+
+    private static final byte PLAIN = 0;
+    private static final byte GZIP = 1;
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final int compressionThreshold;
+
+    /**
+     * Constructs a new TypedJacksonRedisSerializer.
+     *
+     * @param objectMapper the object mapper defining the data format
+     * @param type the type of the cached values
+     * @param compressionThreshold the payload size in bytes above which values are compressed, or a negative
+     *                             value to disable compression
+     */
+    public TypedJacksonRedisSerializer(ObjectMapper objectMapper, JavaType type, int compressionThreshold) {
+        this.reader = objectMapper.readerFor(type);
+        this.writer = objectMapper.writerFor(type);
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(T value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            byte[] payload = writer.writeValueAsBytes(value);
+            if (compressionThreshold < 0 || payload.length <= compressionThreshold) {
+                return withHeader(PLAIN, payload);
+            }
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 2);
+            compressed.write(GZIP);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(payload);
+            }
+            return compressed.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value", e);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            InputStream payload = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+            return switch (bytes[0]) {
+                case PLAIN -> reader.readValue(payload);
+                case GZIP -> {
+                    try (InputStream gzip = new GZIPInputStream(payload)) {
+                        yield reader.readValue(gzip);
+                    }
+                }
+                default -> throw new SerializationException("Unknown cache value header: " + bytes[0]);
+            };
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value", e);
+        }
+    }
+
+    /**
+     * Prepends the header byte to an uncompressed payload.
+     *
+     * @param header the header byte
+     * @param payload the payload
+     * @return the header followed by the payload
+     */
+    private static byte[] withHeader(byte header, byte[] payload) {
+        byte[] bytes = new byte[payload.length + 1];
+        bytes[0] = header;
+        System.arraycopy(payload, 0, bytes, 1, payload.length);
+        return bytes;
+    }
+}
@@ -1,17 +1,32 @@
 package de.rwth_aachen.swc.recsec.projects.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import de.rwth_aachen.swc.recsec.projects.dto.requests.ProjectCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.requests.SecurityRequirementCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectImportProgress;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewPage;
 import de.rwth_aachen.swc.recsec.projects.service.IProjectService;
+import de.rwth_aachen.swc.recsec.projects.service.IProjectTransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.security.Principal;
 import java.util.List;
 
@@ -26,32 +41,125 @@ import java.util.List;
 @Tag(name = "Projects", description = "Endpoints for managing projects and their security requirements")
 public class ProjectController {
 
+    /**
+     * The response header carrying the cursor of the next page of projects.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final IProjectService projectService;
+    private final IProjectTransferService projectTransferService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${projects.max-page-size:100}")
+    private int maxPageSize;
 
     /**
      * Constructor for ProjectController.
      *
-     * @param projectService the service handling project-related operations.
+     * @param projectService         the service handling project-related operations.
+     * @param projectTransferService the service handling bulk project import and export.
+     * @param objectMapper           the mapper used to serialize streamed import progress.
      */
-    public ProjectController(IProjectService projectService) {
+    public ProjectController(
+            IProjectService projectService,
+            IProjectTransferService projectTransferService,
+            ObjectMapper objectMapper) {
         this.projectService = projectService;
+        this.projectTransferService = projectTransferService;
+        this.objectMapper = objectMapper;
     }
 
     /**
-     * Retrieves all projects associated with the authenticated user.
+     * Retrieves the projects associated with the authenticated user, most recently updated first.
+     *
+     * Without a limit, all projects are returned. With a limit, one page is returned and the cursor
+     * of the following page, if any, is sent in the {@value #NEXT_CURSOR_HEADER} header.
      *
      * @param principal the authenticated user.
+     * @param cursor    the cursor of the page to retrieve, as returned with the previous page.
+     * @param limit     the maximum number of projects to return.
      * @return a list of project overviews for the user.
      */
     @GetMapping
-    @ResponseStatus(HttpStatus.OK)
-    @Operation(summary = "Get all projects", description = "Retrieves all projects for the authenticated user")
-    public List<ProjectOverviewDTO> getProjects(
-            @Parameter(hidden = true) Principal principal
+    @Operation(summary = "Get all projects", description = "Retrieves the projects for the authenticated user, optionally paginated by cursor")
+    public ResponseEntity<List<ProjectOverviewDTO>> getProjects(
+            @Parameter(hidden = true) Principal principal,
+            @Parameter(description = "The cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "The maximum number of projects to return") @RequestParam(required = false) Integer limit
     ) {
         String userId = principal.getName();
         log.info("Getting projects for user: {}", userId);
-        return projectService.getProjects(userId);
+        if (cursor == null && limit == null) {
+            return ResponseEntity.ok(projectService.getProjects(userId));
+        }
+
+        int pageSize = limit != null ? limit : maxPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + maxPageSize + ".");
+        }
+        ProjectOverviewPage page = projectService.getProjects(userId, cursor, pageSize);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.projects());
+    }
+
+    /**
+     * Exports all projects of the authenticated user with their security requirements.
+     *
+     * The projects are streamed as a JSON array in the format accepted by the import endpoint.
+     *
+     * @param principal the authenticated user.
+     * @return the streamed JSON array of projects.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export projects", description = "Streams all projects of the authenticated user with their security requirements")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @Parameter(hidden = true) Principal principal
+    ) {
+        String userId = principal.getName();
+        log.info("Exporting projects for user: {}", userId);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"projects.json\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> projectTransferService.exportProjects(userId, outputStream));
+    }
+
+    /**
+     * Imports a JSON array of projects with their security requirements for the authenticated user.
+     *
+     * The request body is parsed as a stream and stored in chunks. After each committed chunk, a
+     * {@link ProjectImportProgress} line is written to the newline-delimited JSON response; the last
+     * line reports completion or the error that stopped the import.
+     *
+     * @param principal the authenticated user.
+     * @param request   the request whose body holds the JSON array of projects.
+     * @param response  the response the progress lines are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import projects", description = "Imports many projects with their security requirements and streams the progress per chunk")
+    public void importProjects(
+            @Parameter(hidden = true) Principal principal,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String userId = principal.getName();
+        log.info("Importing projects for user: {}", userId);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        projectTransferService.importProjects(userId, request.getInputStream(), progress -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(progress));
+                outputStream.write('\n');
+                outputStream.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
     /**
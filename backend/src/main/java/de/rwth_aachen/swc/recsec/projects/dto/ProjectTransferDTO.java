@@ -0,0 +1,19 @@
+package de.rwth_aachen.swc.recsec.projects.dto;
+
+import de.rwth_aachen.swc.recsec.projects.dto.requests.SecurityRequirementCreationRequest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a project with its security requirements as exchanged by the bulk import and export.
+ *
+ * @param name                 the name of the project.
+ * @param properties           the properties of the project.
+ * @param securityRequirements the security requirements of the project.
+ */
+public record ProjectTransferDTO(
+        String name,
+        Map<String, Object> properties,
+        List<SecurityRequirementCreationRequest> securityRequirements
+) {}
@@ -0,0 +1,18 @@
+package de.rwth_aachen.swc.recsec.projects.dto.responses;
+
+/**
+ * Reports the progress of a bulk project import after each committed chunk.
+ *
+ * @param chunk                        the number of chunks committed so far.
+ * @param importedProjects             the total number of projects imported so far.
+ * @param importedSecurityRequirements the total number of security requirements imported so far.
+ * @param completed                    whether the import has finished successfully.
+ * @param error                        the reason the import stopped, or {@code null} if no error occurred.
+ */
+public record ProjectImportProgress(
+        int chunk,
+        long importedProjects,
+        long importedSecurityRequirements,
+        boolean completed,
+        String error
+) {}
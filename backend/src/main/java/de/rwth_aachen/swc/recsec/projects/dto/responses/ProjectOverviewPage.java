@@ -0,0 +1,14 @@
+package de.rwth_aachen.swc.recsec.projects.dto.responses;
+
+import java.util.List;
+
+/**
+ * Represents one page of project overviews, ordered from the most recently updated project.
+ *
+ * @param projects   the project overviews on this page.
+ * @param nextCursor the opaque cursor to request the following page, or {@code null} if this is the last page.
+ */
+public record ProjectOverviewPage(
+        List<ProjectOverviewDTO> projects,
+        String nextCursor
+) {}
@@ -1,12 +1,15 @@
 package de.rwth_aachen.swc.recsec.projects.mapper;
 
+import de.rwth_aachen.swc.recsec.projects.dto.ProjectTransferDTO;
+import de.rwth_aachen.swc.recsec.projects.dto.requests.SecurityRequirementCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
-import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.SecurityRequirementDTO;
 import de.rwth_aachen.swc.recsec.projects.model.Project;
 import de.rwth_aachen.swc.recsec.projects.model.ProjectSecurityRequirement;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 /**
  * Mapper class for converting entities to DTOs.
  * Handles transformations between Project and related entities and their corresponding DTOs.
@@ -33,22 +36,6 @@ public class ProjectMapper {
         );
     }
 
-    /**
-     * Maps a {@link Project} entity to a {@link ProjectOverviewDTO}.
-     * Provides a lightweight representation of the project.
-     *
-     * @param project the project entity to map.
-     * @return a {@link ProjectOverviewDTO} containing summary information about the project.
-     */
-    public ProjectOverviewDTO mapProjectToOverviewDTO(Project project) {
-        return new ProjectOverviewDTO(
-                project.getId(),
-                project.getName(),
-                project.getCreatedAt(),
-                project.getUpdatedAt()
-        );
-    }
-
     /**
      * Maps a {@link ProjectSecurityRequirement} entity to a {@link SecurityRequirementDTO}.
      *
@@ -62,4 +49,44 @@ public class ProjectMapper {
                 projectSecurityRequirement.getDescription()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Maps a Project entity to its representation in the bulk export.
+     *
+     * @param project the project entity to map, with its security requirements loaded.
+     * @return a {@link ProjectTransferDTO} containing the project and its security requirements, without IDs.
+     */
+    public ProjectTransferDTO mapProjectToTransferDTO(Project project) {
+        return new ProjectTransferDTO(
+                project.getName(),
+                project.getProperties(),
+                project.getProjectSecurityRequirements().stream()
+                        .map(req -> new SecurityRequirementCreationRequest(req.getTitle(), req.getDescription()))
+                        .toList()
+        );
+    }
+
+    /**
+     * Maps a project read by the bulk import to a new Project entity owned by the given user.
+     *
+     * @param projectTransferDTO the imported project to map.
+     * @param userId             the ID of the user importing the project.
+     * @return a new {@link Project} entity with its security requirements attached.
+     */
+    public Project mapTransferDTOToProject(ProjectTransferDTO projectTransferDTO, UUID userId) {
+        Project project = new Project();
+        project.setUserId(userId);
+        project.setName(projectTransferDTO.name());
+        project.setProperties(projectTransferDTO.properties());
+        if (projectTransferDTO.securityRequirements() != null) {
+            for (SecurityRequirementCreationRequest request : projectTransferDTO.securityRequirements()) {
+                ProjectSecurityRequirement securityRequirement = new ProjectSecurityRequirement();
+                securityRequirement.setTitle(request.title());
+                securityRequirement.setDescription(request.description());
+                securityRequirement.setProject(project);
+                project.getProjectSecurityRequirements().add(securityRequirement);
+            }
+        }
+        return project;
+    }
+}
@@ -29,7 +29,7 @@ public class Project {
      */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_id_gen")
-    @SequenceGenerator(name = "projects_id_gen", sequenceName = "projects_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "projects_id_gen", sequenceName = "projects_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
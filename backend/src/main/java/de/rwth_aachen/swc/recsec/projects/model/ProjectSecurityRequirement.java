@@ -24,7 +24,7 @@ public class ProjectSecurityRequirement {
      */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_security_requirements_id_seq")
-    @SequenceGenerator(name = "project_security_requirements_id_seq", sequenceName = "project_security_requirements_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "project_security_requirements_id_seq", sequenceName = "project_security_requirements_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -1,8 +1,15 @@
 package de.rwth_aachen.swc.recsec.projects.repository;
 
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO;
 import de.rwth_aachen.swc.recsec.projects.model.Project;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,19 +21,88 @@ import java.util.UUID;
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     /**
-     * Retrieves all projects associated with a specific user.
+     * Finds a project owned by a user together with its security requirements in a single query.
      *
-     * @param userId the UUID of the user.
-     * @return a list of projects owned by the user.
+     * @param projectId the ID of the project.
+     * @param userId    the UUID of the user who owns the project.
+     * @return an Optional containing the project with initialized security requirements, or empty if not found.
      */
-    List<Project> findAllByUserId(UUID userId);
+    @Query("select p from Project p left join fetch p.projectSecurityRequirements "
+            + "where p.id = :projectId and p.userId = :userId")
+    Optional<Project> findWithSecurityRequirementsByIdAndUserId(
+            @Param("projectId") Long projectId,
+            @Param("userId") UUID userId);
 
     /**
-     * Finds a project by its ID and user ID.
+     * Checks whether a project exists and is owned by a user.
+     *
+     * @param projectId the ID of the project.
+     * @param userId    the UUID of the user.
+     * @return true if the user owns the project, false otherwise.
+     */
+    boolean existsByIdAndUserId(Long projectId, UUID userId);
+
+    /**
+     * Deletes a project owned by a user. Its security requirements are removed by the database cascade.
      *
      * @param projectId the ID of the project.
      * @param userId    the UUID of the user who owns the project.
-     * @return an Optional containing the project if found, or empty if not found.
+     * @return the number of deleted projects, 0 or 1.
+     */
+    @Modifying
+    @Query("delete from Project p where p.id = :projectId and p.userId = :userId")
+    int deleteByIdAndUserId(@Param("projectId") Long projectId, @Param("userId") UUID userId);
+
+    /**
+     * Retrieves the overviews of the most recently updated projects of a user, selecting only the overview columns.
+     *
+     * @param userId the UUID of the user.
+     * @param limit  the maximum number of overviews to return.
+     * @return the project overviews, ordered by update time and ID, both descending.
+     */
+    @Query("select new de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO("
+            + "p.id, p.name, p.createdAt, p.updatedAt) from Project p "
+            + "where p.userId = :userId "
+            + "order by p.updatedAt desc, p.id desc")
+    List<ProjectOverviewDTO> findOverviewsByUserId(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Retrieves the overviews of a user's projects following a given position in the listing order.
+     *
+     * @param userId    the UUID of the user.
+     * @param updatedAt the update time of the last project of the previous page.
+     * @param id        the ID of the last project of the previous page.
+     * @param limit     the maximum number of overviews to return.
+     * @return the project overviews after the given position, ordered by update time and ID, both descending.
+     */
+    @Query("select new de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO("
+            + "p.id, p.name, p.createdAt, p.updatedAt) from Project p "
+            + "where p.userId = :userId "
+            + "and (p.updatedAt < :updatedAt or (p.updatedAt = :updatedAt and p.id < :id)) "
+            + "order by p.updatedAt desc, p.id desc")
+    List<ProjectOverviewDTO> findOverviewsByUserIdAfter(
+            @Param("userId") UUID userId,
+            @Param("updatedAt") OffsetDateTime updatedAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Retrieves the IDs of a user's projects following a given ID, in ascending order.
+     *
+     * @param userId  the UUID of the user.
+     * @param afterId the ID after which to continue.
+     * @param limit   the maximum number of IDs to return.
+     * @return the project IDs in ascending order.
+     */
+    @Query("select p.id from Project p where p.userId = :userId and p.id > :afterId order by p.id")
+    List<Long> findIdsByUserIdAfter(@Param("userId") UUID userId, @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Retrieves projects together with their security requirements in a single query.
+     *
+     * @param projectIds the IDs of the projects.
+     * @return the projects with initialized security requirements, ordered by ID.
      */
-    Optional<Project> findByIdAndUserId(Long projectId, UUID userId);
-}
\ No newline at end of file
+    @Query("select p from Project p left join fetch p.projectSecurityRequirements where p.id in :projectIds order by p.id")
+    List<Project> findAllWithSecurityRequirementsByIdIn(@Param("projectIds") Collection<Long> projectIds);
+}
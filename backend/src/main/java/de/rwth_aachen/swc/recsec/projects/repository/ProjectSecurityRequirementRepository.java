@@ -0,0 +1,75 @@
+package de.rwth_aachen.swc.recsec.projects.repository;
+
+import de.rwth_aachen.swc.recsec.projects.model.ProjectSecurityRequirement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing ProjectSecurityRequirement entities.
+ * All lookups and modifications are scoped to the project and the user owning it,
+ * so that a single statement both checks ownership and accesses the row.
+ */
+public interface ProjectSecurityRequirementRepository extends JpaRepository<ProjectSecurityRequirement, Long> {
+
+    /**
+     * Finds a security requirement of a project owned by a user.
+     *
+     * @param securityRequirementId the ID of the security requirement.
+     * @param projectId             the ID of the project containing the security requirement.
+     * @param userId                the UUID of the user who owns the project.
+     * @return an Optional containing the security requirement if found, or empty if not found.
+     */
+    @Query("select r from ProjectSecurityRequirement r join r.project p "
+            + "where r.id = :securityRequirementId and p.id = :projectId and p.userId = :userId")
+    Optional<ProjectSecurityRequirement> findByIdAndProjectIdAndUserId(
+            @Param("securityRequirementId") Long securityRequirementId,
+            @Param("projectId") Long projectId,
+            @Param("userId") UUID userId);
+
+    /**
+     * Updates the title and description of a security requirement of a project owned by a user.
+     *
+     * @param securityRequirementId the ID of the security requirement.
+     * @param projectId             the ID of the project containing the security requirement.
+     * @param userId                the UUID of the user who owns the project.
+     * @param title                 the new title.
+     * @param description           the new description.
+     * @param updatedAt             the update timestamp, set explicitly as bulk updates bypass entity callbacks.
+     * @return the number of updated security requirements, 0 or 1.
+     */
+    @Modifying
+    @Query("update ProjectSecurityRequirement r "
+            + "set r.title = :title, r.description = :description, r.updatedAt = :updatedAt "
+            + "where r.id = :securityRequirementId and r.project.id = :projectId "
+            + "and exists (select p.id from Project p where p.id = :projectId and p.userId = :userId)")
+    int updateByIdAndProjectIdAndUserId(
+            @Param("securityRequirementId") Long securityRequirementId,
+            @Param("projectId") Long projectId,
+            @Param("userId") UUID userId,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("updatedAt") OffsetDateTime updatedAt);
+
+    /**
+     * Deletes a security requirement of a project owned by a user.
+     *
+     * @param securityRequirementId the ID of the security requirement.
+     * @param projectId             the ID of the project containing the security requirement.
+     * @param userId                the UUID of the user who owns the project.
+     * @return the number of deleted security requirements, 0 or 1.
+     */
+    @Modifying
+    @Query("delete from ProjectSecurityRequirement r "
+            + "where r.id = :securityRequirementId and r.project.id = :projectId "
+            + "and exists (select p.id from Project p where p.id = :projectId and p.userId = :userId)")
+    int deleteByIdAndProjectIdAndUserId(
+            @Param("securityRequirementId") Long securityRequirementId,
+            @Param("projectId") Long projectId,
+            @Param("userId") UUID userId);
+}
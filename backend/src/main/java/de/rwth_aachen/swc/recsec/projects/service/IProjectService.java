@@ -4,6 +4,7 @@ import de.rwth_aachen.swc.recsec.projects.dto.requests.ProjectCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.requests.SecurityRequirementCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewPage;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.SecurityRequirementDTO;
 
 import java.util.List;
@@ -22,6 +23,16 @@ public interface IProjectService {
      */
     List<ProjectOverviewDTO> getProjects(String userId);
 
+    /**
+     * Retrieves one page of projects for a given user, starting after the position encoded in the cursor.
+     *
+     * @param userId the ID of the user.
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+     * @param limit  the maximum number of projects on the page.
+     * @return the page of project overviews, including the cursor of the next page.
+     */
+    ProjectOverviewPage getProjects(String userId, String cursor, int limit);
+
     /**
      * Retrieves detailed information about a specific project.
      *
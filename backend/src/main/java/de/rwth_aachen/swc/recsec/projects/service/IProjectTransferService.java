@@ -0,0 +1,35 @@
+package de.rwth_aachen.swc.recsec.projects.service;
+
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectImportProgress;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for importing and exporting many projects with their security requirements at once.
+ * Both directions stream the JSON payload, so memory usage does not depend on the number of projects.
+ */
+public interface IProjectTransferService {
+
+    /**
+     * Writes all projects of a user with their security requirements as a JSON array.
+     *
+     * @param userId       the ID of the user.
+     * @param outputStream the stream to write the JSON array to.
+     * @throws IOException if writing to the stream fails.
+     */
+    void exportProjects(String userId, OutputStream outputStream) throws IOException;
+
+    /**
+     * Reads a JSON array of projects with their security requirements and stores them for a user.
+     * Projects are stored in chunks, each in its own transaction; chunks committed before an error are kept.
+     *
+     * @param userId           the ID of the user.
+     * @param inputStream      the stream to read the JSON array from.
+     * @param progressListener the listener notified after each committed chunk and once the import has ended.
+     * @return the final progress of the import.
+     */
+    ProjectImportProgress importProjects(String userId, InputStream inputStream, Consumer<ProjectImportProgress> progressListener);
+}
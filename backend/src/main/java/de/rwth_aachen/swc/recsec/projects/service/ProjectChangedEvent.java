@@ -0,0 +1,12 @@
+package de.rwth_aachen.swc.recsec.projects.service;
+
+/**
+ * Application event signalling that a project or one of its security requirements has changed.
+ *
+ * Components that cache data derived from a project listen for this event to discard stale entries.
+ *
+ * @param projectId the ID of the changed project
+ */
+public record ProjectChangedEvent(
+        Long projectId
+) {}
@@ -4,18 +4,25 @@ import de.rwth_aachen.swc.recsec.projects.dto.requests.ProjectCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.requests.SecurityRequirementCreationRequest;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewDTO;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectOverviewPage;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.SecurityRequirementDTO;
 import de.rwth_aachen.swc.recsec.projects.mapper.ProjectMapper;
 import de.rwth_aachen.swc.recsec.projects.model.Project;
 import de.rwth_aachen.swc.recsec.projects.model.ProjectSecurityRequirement;
 import de.rwth_aachen.swc.recsec.projects.repository.ProjectRepository;
+import de.rwth_aachen.swc.recsec.projects.repository.ProjectSecurityRequirementRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing projects and their security requirements.
@@ -25,33 +32,61 @@ import java.util.stream.Collectors;
 public class ProjectService implements IProjectService {
 
     private final ProjectRepository projectRepository;
+    private final ProjectSecurityRequirementRepository projectSecurityRequirementRepository;
     private final ProjectMapper projectMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for ProjectService.
      *
-     * @param projectRepository the repository to manage project data.
-     * @param projectMapper     the mapper to transform project data to DTOs.
+     * @param projectRepository                    the repository to manage project data.
+     * @param projectSecurityRequirementRepository the repository to manage security requirement data.
+     * @param projectMapper                        the mapper to transform project data to DTOs.
+     * @param eventPublisher                       the publisher used to announce project changes.
      */
-    public ProjectService(ProjectRepository projectRepository, ProjectMapper projectMapper) {
+    public ProjectService(
+            ProjectRepository projectRepository,
+            ProjectSecurityRequirementRepository projectSecurityRequirementRepository,
+            ProjectMapper projectMapper,
+            ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
+        this.projectSecurityRequirementRepository = projectSecurityRequirementRepository;
         this.projectMapper = projectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     public List<ProjectOverviewDTO> getProjects(String userId) {
+        return projectRepository.findOverviewsByUserId(UUID.fromString(userId), Limit.unlimited());
+    }
+
+    @Override
+    public ProjectOverviewPage getProjects(String userId, String cursor, int limit) {
         UUID userIdAsUUID = UUID.fromString(userId);
-        return projectRepository.findAllByUserId(userIdAsUUID)
-                .stream()
-                .map(projectMapper::mapProjectToOverviewDTO)
-                .collect(Collectors.toList());
+        // Fetch one additional row to find out whether another page follows
+        Limit fetchLimit = Limit.of(limit + 1);
+
+        List<ProjectOverviewDTO> projects;
+        if (cursor == null) {
+            projects = projectRepository.findOverviewsByUserId(userIdAsUUID, fetchLimit);
+        } else {
+            ProjectCursor previous = decodeCursor(cursor);
+            projects = projectRepository.findOverviewsByUserIdAfter(
+                    userIdAsUUID, previous.updatedAt(), previous.id(), fetchLimit);
+        }
+
+        if (projects.size() <= limit) {
+            return new ProjectOverviewPage(projects, null);
+        }
+        List<ProjectOverviewDTO> page = projects.subList(0, limit);
+        return new ProjectOverviewPage(page, encodeCursor(page.get(limit - 1)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProjectDTO getProjectById(String userId, Long projectId) {
-        Project project = projectRepository.findByIdAndUserId(projectId, UUID.fromString(userId))
+        Project project = projectRepository.findWithSecurityRequirementsByIdAndUserId(projectId, UUID.fromString(userId))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found."));
-        validateUserAccessToProject(UUID.fromString(userId), project);
         return projectMapper.mapProjectToDTO(project);
     }
 
@@ -72,93 +107,105 @@ public class ProjectService implements IProjectService {
     }
 
     @Override
+    @Transactional
     public void deleteProject(String userId, Long projectId) {
-        UUID userUUID = UUID.fromString(userId);
-        projectRepository.findById(projectId).ifPresentOrElse(project -> {
-            validateUserAccessToProject(userUUID, project);
-            projectRepository.delete(project);
-            log.info("Deleted project with id={}", projectId);
-        }, () -> {
+        if (projectRepository.deleteByIdAndUserId(projectId, UUID.fromString(userId)) == 0) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found.");
-        });
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
+        log.info("Deleted project with id={}", projectId);
     }
 
     @Override
+    @Transactional
     public void deleteSecurityRequirementById(String userId, Long projectId, Long securityRequirementId) {
-        UUID userUUID = UUID.fromString(userId);
-        Project project = getProjectIfExists(projectId);
-        validateUserAccessToProject(userUUID, project);
-
-        project.getProjectSecurityRequirements().removeIf(req -> req.getId().equals(securityRequirementId));
-        projectRepository.save(project);
+        int deleted = projectSecurityRequirementRepository.deleteByIdAndProjectIdAndUserId(
+                securityRequirementId, projectId, UUID.fromString(userId));
+        if (deleted == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Security Requirement not found.");
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
         log.info("Deleted security requirement with id={} from project id={}", securityRequirementId, projectId);
     }
 
     @Override
+    @Transactional
     public void createSecurityRequirement(String userId, Long projectId, SecurityRequirementCreationRequest securityRequirementCreationRequest) {
-        Project project = getProjectIfExists(projectId);
-        validateUserAccessToProject(UUID.fromString(userId), project);
+        if (!projectRepository.existsByIdAndUserId(projectId, UUID.fromString(userId))) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found.");
+        }
 
         ProjectSecurityRequirement securityRequirement = new ProjectSecurityRequirement();
         securityRequirement.setTitle(securityRequirementCreationRequest.title());
         securityRequirement.setDescription(securityRequirementCreationRequest.description());
-        securityRequirement.setProject(project);
+        // Reference the project without loading it or its other security requirements
+        securityRequirement.setProject(projectRepository.getReferenceById(projectId));
 
-        project.getProjectSecurityRequirements().add(securityRequirement);
-        projectRepository.save(project);
+        projectSecurityRequirementRepository.save(securityRequirement);
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
         log.info("Added security requirement to project id={}", projectId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SecurityRequirementDTO getSecurityRequirementById(String userId, Long projectId, Long securityRequirementId) {
-        Project project = getProjectIfExists(projectId);
-        validateUserAccessToProject(UUID.fromString(userId), project);
-
-        return project.getProjectSecurityRequirements().stream()
-                .filter(req -> req.getId().equals(securityRequirementId))
-                .findFirst()
+        return projectSecurityRequirementRepository
+                .findByIdAndProjectIdAndUserId(securityRequirementId, projectId, UUID.fromString(userId))
                 .map(projectMapper::mapProjectSecurityRequirementToDTO)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Security Requirement not found."));
     }
 
     @Override
+    @Transactional
     public void updateSecurityRequirementById(String userId, Long projectId, Long securityRequirementId, SecurityRequirementCreationRequest securityRequirementCreationRequest) {
-        Project project = getProjectIfExists(projectId);
-        validateUserAccessToProject(UUID.fromString(userId), project);
-
-        project.getProjectSecurityRequirements().stream()
-                .filter(req -> req.getId().equals(securityRequirementId))
-                .findFirst()
-                .ifPresentOrElse(req -> {
-                    req.setTitle(securityRequirementCreationRequest.title());
-                    req.setDescription(securityRequirementCreationRequest.description());
-                    projectRepository.save(project);
-                    log.info("Updated security requirement with id={} in project id={}", securityRequirementId, projectId);
-                }, () -> {
-                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Security Requirement not found.");
-                });
+        int updated = projectSecurityRequirementRepository.updateByIdAndProjectIdAndUserId(
+                securityRequirementId,
+                projectId,
+                UUID.fromString(userId),
+                securityRequirementCreationRequest.title(),
+                securityRequirementCreationRequest.description(),
+                OffsetDateTime.now());
+        if (updated == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Security Requirement not found.");
+        }
+        eventPublisher.publishEvent(new ProjectChangedEvent(projectId));
+        log.info("Updated security requirement with id={} in project id={}", securityRequirementId, projectId);
     }
 
     /**
-     * Retrieves a project by its ID if it exists.
+     * Encodes the position of a project in the listing order as an opaque cursor.
      *
-     * @param projectId the ID of the project.
-     * @return the project entity.
+     * @param project the last project of a page.
+     * @return the URL-safe cursor.
      */
-    private Project getProjectIfExists(Long projectId) {
-        return projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found."));
+    private String encodeCursor(ProjectOverviewDTO project) {
+        String position = project.updatedAt() + "|" + project.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
-     * Validates if a user has access to a given project.
+     * Decodes a cursor created by {@link #encodeCursor(ProjectOverviewDTO)}.
      *
-     * @param userId  the UUID of the user.
-     * @param project the project to validate access for.
+     * @param cursor the cursor.
+     * @return the encoded position.
      */
-    private void validateUserAccessToProject(UUID userId, Project project) {
-        if (!project.getUserId().equals(userId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User does not have access to this project.");
+    private ProjectCursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new ProjectCursor(
+                    OffsetDateTime.parse(position.substring(0, separator)),
+                    Long.valueOf(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor.");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The position of a project in the listing order.
+     *
+     * @param updatedAt the update time of the project.
+     * @param id        the ID of the project.
+     */
+    private record ProjectCursor(OffsetDateTime updatedAt, Long id) {}
+}
@@ -0,0 +1,235 @@
+package de.rwth_aachen.swc.recsec.projects.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.rwth_aachen.swc.recsec.projects.dto.ProjectTransferDTO;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectImportProgress;
+import de.rwth_aachen.swc.recsec.projects.mapper.ProjectMapper;
+import de.rwth_aachen.swc.recsec.projects.model.Project;
+import de.rwth_aachen.swc.recsec.projects.repository.ProjectRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Service implementation for importing and exporting projects in bulk.
+ *
+ * Projects are read and written one at a time with Jackson's streaming parser and generator, and are
+ * loaded or stored in chunks of `projects.transfer.chunk-size`, each chunk in its own transaction.
+ * Together with JDBC batching, this keeps both memory usage and the number of round trips low.
+ */
+@Service
+@Slf4j
+public class ProjectTransferService implements IProjectTransferService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMapper projectMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int chunkSize;
+
+    /**
+     * Constructor for ProjectTransferService.
+     *
+     * @param projectRepository  the repository to manage project data.
+     * @param projectMapper      the mapper to transform projects to and from their transfer representation.
+     * @param objectMapper       the mapper providing the JSON parser and generator.
+     * @param entityManager      the entity manager whose persistence context is cleared after each chunk.
+     * @param transactionManager the transaction manager used for the per-chunk transactions.
+     * @param chunkSize          the number of projects per chunk (`projects.transfer.chunk-size`).
+     */
+    public ProjectTransferService(
+            ProjectRepository projectRepository,
+            ProjectMapper projectMapper,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${projects.transfer.chunk-size:500}") int chunkSize) {
+        this.projectRepository = projectRepository;
+        this.projectMapper = projectMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void exportProjects(String userId, OutputStream outputStream) throws IOException {
+        UUID userIdAsUUID = UUID.fromString(userId);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartArray();
+        long exportedProjects = 0;
+        long lastId = 0;
+        List<Long> projectIds;
+        do {
+            long afterId = lastId;
+            projectIds = projectRepository.findIdsByUserIdAfter(userIdAsUUID, afterId, Limit.of(chunkSize));
+            if (projectIds.isEmpty()) {
+                break;
+            }
+
+            List<Long> chunkIds = projectIds;
+            List<ProjectTransferDTO> chunk = readOnlyTransactionTemplate.execute(status -> {
+                List<ProjectTransferDTO> projectTransferDTOs = projectRepository.findAllWithSecurityRequirementsByIdIn(chunkIds)
+                        .stream()
+                        .map(projectMapper::mapProjectToTransferDTO)
+                        .toList();
+                // Detach the chunk, as an open-in-view entity manager would otherwise keep every exported project
+                entityManager.clear();
+                return projectTransferDTOs;
+            });
+
+            for (ProjectTransferDTO projectTransferDTO : chunk) {
+                objectMapper.writeValue(generator, projectTransferDTO);
+            }
+            lastId = projectIds.getLast();
+            exportedProjects += chunk.size();
+            generator.flush();
+        } while (projectIds.size() == chunkSize);
+        generator.writeEndArray();
+        generator.close();
+
+        log.info("Exported {} projects for user: {}", exportedProjects, userId);
+    }
+
+    @Override
+    public ProjectImportProgress importProjects(String userId, InputStream inputStream, Consumer<ProjectImportProgress> progressListener) {
+        UUID userIdAsUUID = UUID.fromString(userId);
+        int chunkNumber = 0;
+        long importedProjects = 0;
+        long importedSecurityRequirements = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)
+                .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a JSON array of projects.");
+            }
+
+            List<Project> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    ProjectTransferDTO projectTransferDTO = objectMapper.readValue(parser, ProjectTransferDTO.class);
+                    validate(projectTransferDTO, importedProjects + chunk.size());
+                    chunk.add(projectMapper.mapTransferDTOToProject(projectTransferDTO, userIdAsUUID));
+                    if (chunk.size() < chunkSize) {
+                        continue;
+                    }
+                } else if (token != JsonToken.END_ARRAY) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Expected a project object or the end of the array.");
+                }
+
+                if (!chunk.isEmpty()) {
+                    saveChunk(chunk);
+                    chunkNumber++;
+                    importedProjects += chunk.size();
+                    importedSecurityRequirements += chunk.stream()
+                            .mapToLong(project -> project.getProjectSecurityRequirements().size())
+                            .sum();
+                    chunk.clear();
+                }
+                if (token == JsonToken.END_ARRAY) {
+                    break;
+                }
+                progressListener.accept(new ProjectImportProgress(
+                        chunkNumber, importedProjects, importedSecurityRequirements, false, null));
+            }
+        } catch (JsonProcessingException e) {
+            return fail(progressListener, chunkNumber, importedProjects, importedSecurityRequirements,
+                    "Invalid JSON: " + e.getOriginalMessage());
+        } catch (ResponseStatusException e) {
+            return fail(progressListener, chunkNumber, importedProjects, importedSecurityRequirements, e.getReason());
+        } catch (IOException e) {
+            return fail(progressListener, chunkNumber, importedProjects, importedSecurityRequirements,
+                    "Could not read the request body.");
+        } catch (RuntimeException e) {
+            log.error("Error importing projects for user {}: {}", userId, e.getMessage(), e);
+            return fail(progressListener, chunkNumber, importedProjects, importedSecurityRequirements,
+                    "Could not store chunk " + (chunkNumber + 1) + ".");
+        }
+
+        log.info("Imported {} projects with {} security requirements for user: {}",
+                importedProjects, importedSecurityRequirements, userId);
+        ProjectImportProgress progress = new ProjectImportProgress(
+                chunkNumber, importedProjects, importedSecurityRequirements, true, null);
+        progressListener.accept(progress);
+        return progress;
+    }
+
+    /**
+     * Stores a chunk of projects with their security requirements in a single transaction.
+     *
+     * The stored projects are detached afterwards, as an open-in-view entity manager would otherwise keep
+     * every imported project managed until the end of the request.
+     *
+     * @param chunk the projects to store.
+     */
+    private void saveChunk(List<Project> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            projectRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * Validates a project read from the import payload.
+     *
+     * @param projectTransferDTO the project to validate.
+     * @param index              the zero-based position of the project in the payload.
+     */
+    private void validate(ProjectTransferDTO projectTransferDTO, long index) {
+        if (projectTransferDTO.name() == null || projectTransferDTO.name().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Project at index " + index + " has no name.");
+        }
+        if (projectTransferDTO.name().length() > 255) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Project at index " + index + " has a name longer than 255 characters.");
+        }
+    }
+
+    /**
+     * Reports an import that stopped because of an error.
+     *
+     * @param progressListener             the listener to notify.
+     * @param chunk                        the number of chunks committed before the error.
+     * @param importedProjects             the number of projects committed before the error.
+     * @param importedSecurityRequirements the number of security requirements committed before the error.
+     * @param error                        the reason the import stopped.
+     * @return the final progress of the import.
+     */
+    private ProjectImportProgress fail(
+            Consumer<ProjectImportProgress> progressListener,
+            int chunk,
+            long importedProjects,
+            long importedSecurityRequirements,
+            String error) {
+        log.warn("Project import stopped after {} projects: {}", importedProjects, error);
+        ProjectImportProgress progress = new ProjectImportProgress(
+                chunk, importedProjects, importedSecurityRequirements, false, error);
+        progressListener.accept(progress);
+        return progress;
+    }
+}
@@ -0,0 +1,99 @@
+package de.rwth_aachen.swc.recsec.recommendations.controller;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintProfiler;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelExpressionCache;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.ConstraintProfileReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Admin endpoints for profiling the constraints of the recommender.
+ *
+ * Profiling can be switched on at runtime to find constraints with expensive or unselective SpEL expressions.
+ * Access requires the `admin` realm role.
+ */
+@RestController
+@RequestMapping("/admin/constraints/profile")
+@Slf4j
+public class ConstraintProfileController {
+
+    /**
+     * The maximum number of constraints per ranking of the report.
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    private final ConstraintProfiler constraintProfiler;
+    private final SpelExpressionCache expressionCache;
+
+    /**
+     * Constructs a new ConstraintProfileController.
+     *
+     * @param constraintProfiler the profiler collecting the per-constraint statistics
+     * @param expressionCache the cache of parsed SpEL expressions, tracking the ones that cannot be compiled
+     */
+    public ConstraintProfileController(ConstraintProfiler constraintProfiler, SpelExpressionCache expressionCache) {
+        this.constraintProfiler = constraintProfiler;
+        this.expressionCache = expressionCache;
+    }
+
+    /**
+     * Handles GET requests for the ranked report of the slowest and least selective constraints.
+     *
+     * @param limit the maximum number of constraints per ranking
+     * @return the {@link ConstraintProfileReport}
+     * @throws ResponseStatusException if the limit is out of range
+     */
+    @GetMapping
+    public ConstraintProfileReport getReport(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return constraintProfiler.getReport(limit);
+    }
+
+    /**
+     * Handles GET requests for the constraint expressions that cannot be compiled and are evaluated in
+     * interpreted mode.
+     *
+     * @return the interpreted expressions, sorted alphabetically
+     */
+    @GetMapping("/interpreted-expressions")
+    public List<String> getInterpretedExpressions() {
+        return expressionCache.getInterpretedExpressions().stream()
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Handles PUT requests switching constraint profiling on or off.
+     *
+     * @param principal the authenticated admin
+     * @param enabled whether constraint evaluations should be profiled
+     * @return a response with no content
+     */
+    @PutMapping("/enabled")
+    public ResponseEntity<Void> setEnabled(Principal principal, @RequestBody boolean enabled) {
+        log.info("User {} switches constraint profiling {}", principal.getName(), enabled ? "on" : "off");
+        constraintProfiler.setEnabled(enabled);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Handles DELETE requests discarding the collected profiling data.
+     *
+     * @param principal the authenticated admin
+     * @return a response with no content
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> reset(Principal principal) {
+        log.info("User {} resets the constraint profiling data", principal.getName());
+        constraintProfiler.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,16 +1,25 @@
 package de.rwth_aachen.swc.recsec.recommendations.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+import de.rwth_aachen.swc.recsec.recommendations.dto.BatchSecurityPatternRecommendationResult;
 import de.rwth_aachen.swc.recsec.recommendations.dto.PreferenceElicitationDialogDTO;
 import de.rwth_aachen.swc.recsec.recommendations.dto.SecurityPatternRecommendationRequest;
 import de.rwth_aachen.swc.recsec.recommendations.service.IRecommendationService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Controller for handling recommendation-related endpoints.
@@ -24,39 +33,115 @@ import java.util.List;
 public class RecommendationController {
 
     private final IRecommendationService recommendationService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The maximum number of items accepted in a single batch recommendation request.
+     * Configurable via the application properties (`recommendation.batch.max-size`).
+     */
+    @Value("${recommendation.batch.max-size:1000}")
+    private int maxBatchSize;
 
     /**
      * Constructs a new RecommendationController with the specified recommendation service.
      *
      * @param recommendationService the service to handle recommendation operations
+     * @param objectMapper the mapper used to serialize streamed batch results
      */
-    public RecommendationController(IRecommendationService recommendationService) {
+    public RecommendationController(IRecommendationService recommendationService, ObjectMapper objectMapper) {
         this.recommendationService = recommendationService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Handles POST requests to generate security pattern recommendations.
      *
+     * With `explanations=false`, the recommendations carry the IDs of their applicable constraints and an
+     * explanation handle instead of rendered explanations; see {@link #getExplanations(Principal, String)}.
+     *
      * @param principal the authenticated user making the request
+     * @param explanations whether the explanations are rendered (default true)
      * @param securityPatternRecommendationRequest the request containing user preferences and context
      * @return a list of {@link SecurityPatternRecommendation} objects
      */
     @PostMapping("/security-patterns")
     public List<SecurityPatternRecommendation> getSecurityPatternRecommendations(
             Principal principal,
+            @RequestParam(defaultValue = "true") boolean explanations,
             @RequestBody SecurityPatternRecommendationRequest securityPatternRecommendationRequest) {
 
         log.info("Received security pattern recommendation request from user: {}", principal.getName());
         log.debug("User preferences: {}", securityPatternRecommendationRequest.userPreferences());
 
         List<SecurityPatternRecommendation> recommendations =
-                recommendationService.getSecurityPatternRecommendations(principal.getName(), securityPatternRecommendationRequest);
+                recommendationService.getSecurityPatternRecommendations(
+                        principal.getName(), securityPatternRecommendationRequest, explanations);
 
         log.debug("Generated recommendations: {}", recommendations);
 
         return recommendations;
     }
 
+    /**
+     * Handles GET requests to render the explanations of a recommendation returned without explanations.
+     *
+     * @param principal the authenticated user making the request
+     * @param explanationHandle the explanation handle of the recommendation
+     * @return the {@link Explanation} of every applicable constraint
+     */
+    @GetMapping("/{explanationHandle}/explanations")
+    public List<Explanation> getExplanations(Principal principal, @PathVariable String explanationHandle) {
+        log.info("Received explanation request for recommendation {} from user: {}", explanationHandle, principal.getName());
+
+        return recommendationService.getExplanations(principal.getName(), explanationHandle);
+    }
+
+    /**
+     * Handles POST requests to generate security pattern recommendations for many requests at once.
+     *
+     * Results are streamed back as newline-delimited JSON, one {@link BatchSecurityPatternRecommendationResult}
+     * per line, as soon as each item has been evaluated.
+     *
+     * @param principal the authenticated user making the request
+     * @param securityPatternRecommendationRequests the requests containing user preferences and context
+     * @return a streaming response body writing one result per request
+     * @throws ResponseStatusException if the batch is empty or exceeds the maximum batch size
+     */
+    @PostMapping(value = "/security-patterns/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getSecurityPatternRecommendationsBatch(
+            Principal principal,
+            @RequestBody List<SecurityPatternRecommendationRequest> securityPatternRecommendationRequests) {
+
+        log.info("Received batch of {} security pattern recommendation requests from user: {}",
+                securityPatternRecommendationRequests.size(), principal.getName());
+
+        if (securityPatternRecommendationRequests.isEmpty() || securityPatternRecommendationRequests.size() > maxBatchSize) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "A batch must contain between 1 and " + maxBatchSize + " requests."
+            );
+        }
+
+        // Projects and security patterns are fetched here, on the request thread
+        Stream<BatchSecurityPatternRecommendationResult> results =
+                recommendationService.getSecurityPatternRecommendations(principal.getName(), securityPatternRecommendationRequests);
+
+        StreamingResponseBody body = outputStream -> {
+            try (results) {
+                Iterator<BatchSecurityPatternRecommendationResult> iterator = results.iterator();
+                while (iterator.hasNext()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    outputStream.write('\n');
+                    outputStream.flush();
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Handles GET requests to fetch preference elicitation dialogs.
      *
@@ -2,9 +2,10 @@ package de.rwth_aachen.swc.recsec.recommendations.core;
 
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
 import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintEvaluator;
-import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintLoader;
-import de.rwth_aachen.swc.recsec.recommendations.core.constraints.EvaluationResult;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintRegistry;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.HardConstraintPrefilter;
 import de.rwth_aachen.swc.recsec.recommendations.core.constraints.SpelConstraint;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
 import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
@@ -12,9 +13,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Implementation of the {@link IRecommender} interface using a constraint-based approach.
@@ -26,8 +30,11 @@ import java.util.Map;
 @Slf4j
 public class ConstraintBasedRecommender implements IRecommender {
 
-    private final ConstraintLoader constraintLoader;
+    private final ConstraintRegistry constraintRegistry;
     private final ConstraintEvaluator constraintEvaluator;
+    private final HardConstraintPrefilter hardConstraintPrefilter;
+    private final ForkJoinPool evaluationPool;
+    private final RecommendationMetrics recommendationMetrics;
 
     /**
      * The maximum number of recommendations to return.
@@ -36,15 +43,47 @@ public class ConstraintBasedRecommender implements IRecommender {
     @Value("${recommendation.top-k:10}")
     private int topK;
 
+    /**
+     * The minimum soft score a pattern must reach to be recommended, or {@code null} for no threshold.
+     * Configurable via the application properties (`recommendation.min-score`).
+     */
+    @Value("${recommendation.min-score:#{null}}")
+    private Double minScore;
+
+    /**
+     * Whether security patterns may be evaluated in parallel.
+     * Configurable via the application properties (`recommendation.parallel.enabled`).
+     */
+    @Value("${recommendation.parallel.enabled:false}")
+    private boolean parallelEnabled;
+
+    /**
+     * The minimum number of security patterns for which parallel evaluation is used.
+     * Configurable via the application properties (`recommendation.parallel.threshold`).
+     */
+    @Value("${recommendation.parallel.threshold:128}")
+    private int parallelThreshold;
+
     /**
      * Constructs the ConstraintBasedRecommender with its dependencies.
      *
-     * @param constraintLoader the loader for retrieving constraints
+     * @param constraintRegistry the in-memory registry for retrieving constraints
      * @param constraintEvaluator the evaluator for processing constraints against a context
+     * @param hardConstraintPrefilter the pre-filter discarding patterns that violate hard constraints
+     * @param recommendationEvaluationPool the pool used to evaluate security patterns in parallel
+     * @param recommendationMetrics the metrics recording stage durations and candidate counts
      */
-    public ConstraintBasedRecommender(ConstraintLoader constraintLoader, ConstraintEvaluator constraintEvaluator) {
-        this.constraintLoader = constraintLoader;
+    public ConstraintBasedRecommender(
+            ConstraintRegistry constraintRegistry,
+            ConstraintEvaluator constraintEvaluator,
+            HardConstraintPrefilter hardConstraintPrefilter,
+            ForkJoinPool recommendationEvaluationPool,
+            RecommendationMetrics recommendationMetrics) {
+        this.constraintRegistry = constraintRegistry;
         this.constraintEvaluator = constraintEvaluator;
+        this.hardConstraintPrefilter = hardConstraintPrefilter;
+        this.evaluationPool = recommendationEvaluationPool;
+        this.recommendationMetrics = recommendationMetrics;
     }
 
     /**
@@ -63,38 +102,185 @@ public class ConstraintBasedRecommender implements IRecommender {
             ProjectDTO project,
             Map<String, Object> userPreferences) {
 
+        return recommend(securityControlId, securityPatterns, project, userPreferences, true);
+    }
+
+    /**
+     * Generates a list of security pattern recommendations without rendering their explanations.
+     *
+     * Instead of explanations, each recommendation carries the IDs of its applicable constraints. Only the
+     * applicability expressions of the top-K patterns are evaluated for this.
+     *
+     * @param securityControlId the ID of the security control
+     * @param securityPatterns the list of available {@link SecurityPatternDTO} objects
+     * @param project the project context, including its properties and constraints
+     * @param userPreferences a map of user-defined preferences for customization
+     * @return a list of top-ranked {@link SecurityPatternRecommendation} objects without explanations
+     */
+    @Override
+    public List<SecurityPatternRecommendation> getSecurityPatternRecommendationsWithoutExplanations(
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences) {
+
+        return recommend(securityControlId, securityPatterns, project, userPreferences, false);
+    }
+
+    /**
+     * Renders the explanations of a single recommended security pattern with the current constraints.
+     *
+     * @param securityControlId the ID of the security control
+     * @param securityPattern the recommended security pattern
+     * @param project the project context the pattern was recommended for
+     * @param userPreferences the user-defined preferences the pattern was recommended for
+     * @return the {@link Explanation} of every applicable constraint
+     */
+    @Override
+    public List<Explanation> getExplanations(
+            Long securityControlId,
+            SecurityPatternDTO securityPattern,
+            ProjectDTO project,
+            Map<String, Object> userPreferences) {
+
+        return recommendationMetrics.timeStage(RecommendationMetrics.STAGE_EXPLANATION,
+                () -> constraintEvaluator.explain(
+                        constraintRegistry.getConstraintsBySecurityControlId(securityControlId),
+                        new RecommendationContext(securityPattern, project, userPreferences)));
+    }
+
+    /**
+     * Selects the top-K security patterns and either renders their explanations or determines their
+     * applicable constraints.
+     *
+     * @param securityControlId the ID of the security control
+     * @param securityPatterns the list of available {@link SecurityPatternDTO} objects
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @param renderExplanations whether explanations are rendered, or only the applicable constraint IDs assigned
+     * @return a list of top-ranked {@link SecurityPatternRecommendation} objects
+     */
+    private List<SecurityPatternRecommendation> recommend(
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences,
+            boolean renderExplanations) {
+
         log.info("Generating recommendations for security control ID: {}", securityControlId);
 
         // Load constraints for the specified security control
-        List<SpelConstraint> constraints = constraintLoader.loadConstraintsBySecurityControlId(securityControlId);
-        List<SecurityPatternRecommendation> recommendations = new ArrayList<>();
+        List<SpelConstraint> constraints = recommendationMetrics.timeStage(RecommendationMetrics.STAGE_CONSTRAINT_LOAD,
+                () -> constraintRegistry.getConstraintsBySecurityControlId(securityControlId));
 
-        // Evaluate each security pattern against the constraints
-        for (SecurityPatternDTO securityPattern : securityPatterns) {
-            RecommendationContext context = new RecommendationContext(securityPattern, project, userPreferences);
+        // Discard patterns that are known to violate an applicable hard constraint
+        BitSet survivors = recommendationMetrics.timeStage(RecommendationMetrics.STAGE_PREFILTER,
+                () -> hardConstraintPrefilter.filter(securityControlId, constraints, securityPatterns, project, userPreferences));
 
-            // Evaluate the current context
-            EvaluationResult evaluationResult = constraintEvaluator.evaluate(constraints, context);
+        // Counts the patterns passing the hard constraints and the minimum score
+        LongAdder candidates = new LongAdder();
+        TopKSelector<SecurityPatternRecommendation> selector = recommendationMetrics.timeStage(
+                RecommendationMetrics.STAGE_EVALUATION, () -> {
+            if (parallelEnabled && survivors.cardinality() >= parallelThreshold) {
+                // Evaluate the security patterns concurrently on the dedicated pool, each worker selecting
+                // its own top-K, then merge the per-worker selections
+                return evaluationPool.submit(() -> survivors.stream()
+                        .parallel()
+                        .mapToObj(securityPatterns::get)
+                        .collect(
+                                this::newSelector,
+                                (workerSelector, securityPattern) -> evaluate(
+                                        constraints, securityPattern, project, userPreferences, workerSelector, candidates)
+                                        .ifPresent(workerSelector::offer),
+                                TopKSelector::merge)
+                ).join();
+            }
 
-            // Skip patterns that fail to satisfy all hard constraints
-            if (!evaluationResult.allHardSatisfied()) {
-                log.debug("Security pattern '{}' failed hard constraints.", securityPattern.name());
-                continue;
+            // Evaluate each remaining security pattern against the constraints
+            TopKSelector<SecurityPatternRecommendation> sequentialSelector = newSelector();
+            for (int i = survivors.nextSetBit(0); i >= 0; i = survivors.nextSetBit(i + 1)) {
+                SecurityPatternDTO securityPattern = securityPatterns.get(i);
+                evaluate(constraints, securityPattern, project, userPreferences, sequentialSelector, candidates)
+                        .ifPresent(sequentialSelector::offer);
             }
+            return sequentialSelector;
+        });
 
-            // Add recommendation for patterns satisfying hard constraints
-            SecurityPatternRecommendation recommendation = new SecurityPatternRecommendation(
-                    securityPattern,
-                    evaluationResult.softScore(),
-                    evaluationResult.explanations()
-            );
-            recommendations.add(recommendation);
+        // Complete the top-K recommendations only, ordered by score in descending order
+        List<SecurityPatternRecommendation> recommendations;
+        if (renderExplanations) {
+            recommendations = recommendationMetrics.timeStage(RecommendationMetrics.STAGE_EXPLANATION,
+                    () -> selector.toSortedList().stream()
+                            .map(recommendation -> recommendation.withExplanations(constraintEvaluator.explain(
+                                    constraints,
+                                    new RecommendationContext(recommendation.securityPattern(), project, userPreferences))))
+                            .toList());
+        } else {
+            recommendations = selector.toSortedList().stream()
+                    .map(recommendation -> recommendation.withConstraintIds(constraintEvaluator.applicableConstraintIds(
+                            constraints,
+                            new RecommendationContext(recommendation.securityPattern(), project, userPreferences))))
+                    .toList();
+        }
+        recommendationMetrics.recordCandidates(
+                securityPatterns.size(), survivors.cardinality(), candidates.sum(), recommendations.size());
+        return recommendations;
+    }
+
+    /**
+     * Creates an empty selector for the top-K recommendations.
+     *
+     * @return a new {@link TopKSelector} honouring the configured K and minimum score
+     */
+    private TopKSelector<SecurityPatternRecommendation> newSelector() {
+        return new TopKSelector<>(
+                topK,
+                minScore,
+                SecurityPatternRecommendation::score,
+                recommendation -> recommendation.securityPattern().id());
+    }
+
+    /**
+     * Evaluates a single security pattern against the constraints.
+     *
+     * @param constraints the constraints to evaluate
+     * @param securityPattern the security pattern to evaluate
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @param selector the selector the result will be offered to, used to skip patterns that would be dropped
+     * @param candidates counts the patterns passing the hard constraints and the minimum score
+     * @return the recommendation for the pattern without explanations, or empty if it fails a hard constraint or
+     *         would not be selected
+     */
+    private Optional<SecurityPatternRecommendation> evaluate(
+            List<SpelConstraint> constraints,
+            SecurityPatternDTO securityPattern,
+            ProjectDTO project,
+            Map<String, Object> userPreferences,
+            TopKSelector<SecurityPatternRecommendation> selector,
+            LongAdder candidates) {
+
+        RecommendationContext context = new RecommendationContext(securityPattern, project, userPreferences);
+
+        // Score the current context; explanations are rendered once the top-K is known
+        double score = constraintEvaluator.score(constraints, context);
+
+        // Skip patterns that fail to satisfy all hard constraints
+        if (score == ConstraintEvaluator.REJECTED) {
+            log.debug("Security pattern '{}' failed hard constraints.", securityPattern.name());
+            return Optional.empty();
+        }
+
+        // Skip patterns below the minimum score or that would not make it into the top-K
+        if (minScore != null && score < minScore) {
+            return Optional.empty();
+        }
+        candidates.increment();
+        if (!selector.accepts(score, securityPattern.id())) {
+            return Optional.empty();
         }
 
-        // Sort recommendations by score in descending order and return the top-K
-        return recommendations.stream()
-                .sorted((r1, r2) -> Double.compare(r2.score(), r1.score()))
-                .limit(topK)
-                .toList();
+        // Create the recommendation for patterns satisfying hard constraints
+        return Optional.of(new SecurityPatternRecommendation(securityPattern, score, null));
     }
 }
\ No newline at end of file
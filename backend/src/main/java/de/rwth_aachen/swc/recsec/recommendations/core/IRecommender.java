@@ -1,6 +1,7 @@
 package de.rwth_aachen.swc.recsec.recommendations.core;
 
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
 import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
 
@@ -29,4 +30,37 @@ public interface IRecommender {
             List<SecurityPatternDTO> securityPatterns,
             ProjectDTO project,
             Map<String, Object> userPreferences);
+
+    /**
+     * Generates security pattern recommendations without rendering their explanations.
+     *
+     * The recommendations carry the IDs of the applicable constraints instead; their explanations can be
+     * rendered later with {@link #getExplanations}.
+     *
+     * @param securityControlId the ID of the security control related to the recommendation
+     * @param securityPatterns a list of available {@link SecurityPatternDTO} objects to consider
+     * @param project the project context, including its properties and constraints
+     * @param userPreferences a map of user-defined preferences to refine recommendations
+     * @return a list of {@link SecurityPatternRecommendation} objects without explanations
+     */
+    List<SecurityPatternRecommendation> getSecurityPatternRecommendationsWithoutExplanations(
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences);
+
+    /**
+     * Renders the explanations of a single recommended security pattern.
+     *
+     * @param securityControlId the ID of the security control related to the recommendation
+     * @param securityPattern the recommended security pattern
+     * @param project the project context the pattern was recommended for
+     * @param userPreferences the user-defined preferences the pattern was recommended for
+     * @return the {@link Explanation} of every applicable constraint
+     */
+    List<Explanation> getExplanations(
+            Long securityControlId,
+            SecurityPatternDTO securityPattern,
+            ProjectDTO project,
+            Map<String, Object> userPreferences);
 }
\ No newline at end of file
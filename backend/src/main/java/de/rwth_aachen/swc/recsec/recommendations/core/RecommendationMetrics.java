@@ -0,0 +1,190 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.Constraint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer instrumentation of the recommendation pipeline.
+ *
+ * The following meters are registered and exported on `/actuator/prometheus` of the management port:
+ * - `recsec.recommendation.stage` (timer, tag `stage`): duration of the pipeline stages
+ *   (pattern fetch, project fetch, constraint load, pre-filter, evaluation, explanation),
+ * - `recsec.recommendation.constraint.evaluation` (timer, tags `constraint` and `hard`): duration of the
+ *   evaluation of a single constraint against a single security pattern,
+ * - `recsec.recommendation.constraint.rejections` (counter, tags `constraint` and `stage`): security patterns
+ *   rejected by a hard constraint, either by the pre-filter or by the full evaluation,
+ * - `recsec.recommendation.candidates` (distribution summary, tag `stage`): number of security patterns
+ *   entering the pipeline (`in`), surviving the pre-filter (`prefiltered`) and passing the hard constraints
+ *   and minimum score (`out`),
+ * - `recsec.recommendation.top-k.size` (distribution summary): number of returned recommendations.
+ */
+@Component
+public class RecommendationMetrics {
+
+    public static final String STAGE_PATTERN_FETCH = "pattern-fetch";
+    public static final String STAGE_PROJECT_FETCH = "project-fetch";
+    public static final String STAGE_CONSTRAINT_LOAD = "constraint-load";
+    public static final String STAGE_PREFILTER = "prefilter";
+    public static final String STAGE_EVALUATION = "evaluation";
+    public static final String STAGE_EXPLANATION = "explanation";
+
+    private static final String STAGE_TIMER = "recsec.recommendation.stage";
+    private static final String CONSTRAINT_TIMER = "recsec.recommendation.constraint.evaluation";
+    private static final String REJECTION_COUNTER = "recsec.recommendation.constraint.rejections";
+    private static final String CANDIDATES_SUMMARY = "recsec.recommendation.candidates";
+    private static final String TOP_K_SUMMARY = "recsec.recommendation.top-k.size";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean constraintTimingEnabled;
+    private final ConcurrentMap<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> constraintTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+    private final DistributionSummary candidatesIn;
+    private final DistributionSummary candidatesPrefiltered;
+    private final DistributionSummary candidatesOut;
+    private final DistributionSummary topKSize;
+
+    /**
+     * Constructs a new RecommendationMetrics.
+     *
+     * @param meterRegistry the registry the meters are registered with
+     * @param constraintTimingEnabled whether the evaluation of every single constraint is timed
+     *                                (`recommendation.metrics.constraint-timing.enabled`)
+     */
+    public RecommendationMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${recommendation.metrics.constraint-timing.enabled:true}") boolean constraintTimingEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.constraintTimingEnabled = constraintTimingEnabled;
+        this.candidatesIn = candidatesSummary("in");
+        this.candidatesPrefiltered = candidatesSummary("prefiltered");
+        this.candidatesOut = candidatesSummary("out");
+        this.topKSize = DistributionSummary.builder(TOP_K_SUMMARY)
+                .description("Number of returned recommendations")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a pipeline stage and records its duration.
+     *
+     * @param stage the name of the stage, one of the `STAGE_*` constants
+     * @param supplier the stage to run
+     * @param <T> the type of the stage result
+     * @return the result of the stage
+     */
+    public <T> T timeStage(String stage, Supplier<T> supplier) {
+        return stageTimer(stage).record(supplier);
+    }
+
+    /**
+     * Runs a pipeline stage without a result and records its duration.
+     *
+     * @param stage the name of the stage, one of the `STAGE_*` constants
+     * @param runnable the stage to run
+     */
+    public void timeStage(String stage, Runnable runnable) {
+        stageTimer(stage).record(runnable);
+    }
+
+    /**
+     * Starts timing the evaluation of a single constraint.
+     *
+     * @return the start time to pass to {@link #recordConstraintEvaluation(Constraint, long)}, or 0 if
+     *         constraint timing is disabled
+     */
+    public long startConstraintEvaluation() {
+        return constraintTimingEnabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the duration of the evaluation of a single constraint.
+     *
+     * @param constraint the evaluated constraint
+     * @param start the start time returned by {@link #startConstraintEvaluation()}
+     */
+    public void recordConstraintEvaluation(Constraint constraint, long start) {
+        if (!constraintTimingEnabled) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        constraintTimers.computeIfAbsent(constraint.getName(), name -> Timer.builder(CONSTRAINT_TIMER)
+                        .description("Duration of the evaluation of a single constraint")
+                        .tag("constraint", name)
+                        .tag("hard", String.valueOf(constraint.isHard()))
+                        .register(meterRegistry))
+                .record(duration, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records security patterns rejected by a hard constraint.
+     *
+     * @param constraint the hard constraint that rejected the patterns
+     * @param stage the stage the patterns were rejected in, {@link #STAGE_PREFILTER} or {@link #STAGE_EVALUATION}
+     * @param count the number of rejected patterns
+     */
+    public void recordRejections(Constraint constraint, String stage, long count) {
+        if (count <= 0) {
+            return;
+        }
+        rejectionCounters.computeIfAbsent(stage + '|' + constraint.getName(), key -> Counter.builder(REJECTION_COUNTER)
+                        .description("Security patterns rejected by a hard constraint")
+                        .tag("constraint", constraint.getName())
+                        .tag("stage", stage)
+                        .register(meterRegistry))
+                .increment(count);
+    }
+
+    /**
+     * Records the number of candidates at each point of a recommendation run.
+     *
+     * @param in the number of security patterns in the catalog
+     * @param prefiltered the number of security patterns surviving the pre-filter
+     * @param out the number of security patterns passing the hard constraints and the minimum score
+     * @param selected the number of returned recommendations
+     */
+    public void recordCandidates(int in, int prefiltered, long out, int selected) {
+        candidatesIn.record(in);
+        candidatesPrefiltered.record(prefiltered);
+        candidatesOut.record(out);
+        topKSize.record(selected);
+    }
+
+    /**
+     * Returns the timer of a pipeline stage, registering it on first use.
+     *
+     * @param stage the name of the stage
+     * @return the registered timer
+     */
+    private Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, s -> Timer.builder(STAGE_TIMER)
+                .description("Duration of a recommendation pipeline stage")
+                .tag("stage", s)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * Creates the candidate count summary for a point of the pipeline.
+     *
+     * @param stage the point of the pipeline
+     * @return the registered summary
+     */
+    private DistributionSummary candidatesSummary(String stage) {
+        return DistributionSummary.builder(CANDIDATES_SUMMARY)
+                .description("Number of candidate security patterns in a recommendation run")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,113 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Streaming selector for the K highest-scoring candidates.
+ *
+ * Candidates are kept in a bounded min-heap, so memory stays O(k) and selecting from n candidates costs
+ * O(n log k). Candidates with equal scores are ranked by ascending ID, which makes the selection
+ * deterministic. An optional minimum score drops low-scoring candidates altogether.
+ *
+ * Callers can use {@link #accepts(double, long)} to check whether a candidate would be kept before
+ * materializing it. This class is not thread-safe; concurrent producers each fill their own selector and
+ * combine them with {@link #merge(TopKSelector)}.
+ *
+ * @param <T> the type of the candidates
+ */
+public class TopKSelector<T> {
+
+    private final int k;
+    private final double minScore;
+    private final ToDoubleFunction<T> scoreFunction;
+    private final ToLongFunction<T> idFunction;
+    private final Comparator<T> ranking;
+
+    /**
+     * Heap of the currently selected candidates, with the worst-ranked candidate at its head.
+     */
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Constructs a new {@code TopKSelector}.
+     *
+     * @param k the maximum number of candidates to select
+     * @param minScore the minimum score a candidate must reach, or {@code null} to accept any score
+     * @param scoreFunction extracts the score of a candidate
+     * @param idFunction extracts the ID of a candidate, used to break ties
+     */
+    public TopKSelector(int k, Double minScore, ToDoubleFunction<T> scoreFunction, ToLongFunction<T> idFunction) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+        }
+        this.k = k;
+        this.minScore = minScore != null ? minScore : Double.NEGATIVE_INFINITY;
+        this.scoreFunction = scoreFunction;
+        this.idFunction = idFunction;
+        this.ranking = Comparator.comparingDouble(scoreFunction).reversed().thenComparingLong(idFunction);
+        this.heap = new PriorityQueue<>(Math.max(k, 1), ranking.reversed());
+    }
+
+    /**
+     * Checks whether a candidate with the given score and ID would currently be selected.
+     *
+     * @param score the score of the candidate
+     * @param id the ID of the candidate
+     * @return true if {@link #offer(Object)} would keep the candidate; false otherwise
+     */
+    public boolean accepts(double score, long id) {
+        if (k == 0 || score < minScore) {
+            return false;
+        }
+        if (heap.size() < k) {
+            return true;
+        }
+
+        // Compare against the worst selected candidate
+        T worst = heap.peek();
+        int comparison = Double.compare(score, scoreFunction.applyAsDouble(worst));
+        return comparison > 0 || (comparison == 0 && id < idFunction.applyAsLong(worst));
+    }
+
+    /**
+     * Offers a candidate to the selector, evicting the worst selected candidate if necessary.
+     *
+     * @param candidate the candidate to offer
+     * @return true if the candidate was selected; false if it was dropped
+     */
+    public boolean offer(T candidate) {
+        if (!accepts(scoreFunction.applyAsDouble(candidate), idFunction.applyAsLong(candidate))) {
+            return false;
+        }
+        if (heap.size() == k) {
+            heap.poll();
+        }
+        heap.add(candidate);
+        return true;
+    }
+
+    /**
+     * Offers every candidate selected by another selector to this one.
+     *
+     * @param other the selector to merge into this one, built with the same k and minimum score
+     */
+    public void merge(TopKSelector<T> other) {
+        other.heap.forEach(this::offer);
+    }
+
+    /**
+     * Returns the selected candidates, ordered by descending score and ascending ID.
+     *
+     * @return a list of at most k candidates
+     */
+    public List<T> toSortedList() {
+        List<T> selected = new ArrayList<>(heap);
+        selected.sort(ranking);
+        return selected;
+    }
+}
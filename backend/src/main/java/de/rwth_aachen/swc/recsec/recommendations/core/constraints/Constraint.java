@@ -29,6 +29,13 @@ public abstract class Constraint {
         return new ConstraintResult(true, satisfied, explanation);
     }
 
+    /**
+     * Gets the ID of the constraint.
+     *
+     * @return the ID of the {@link ConstraintEntity} the constraint was loaded from
+     */
+    public abstract Long getId();
+
     /**
      * Gets the name of the constraint.
      *
@@ -18,6 +18,7 @@ import java.time.OffsetDateTime;
 @Getter
 @Setter
 @Entity
+@EntityListeners(ConstraintEntityListener.class)
 @Table(name = "constraints")
 public class ConstraintEntity {
 
@@ -27,7 +28,7 @@ public class ConstraintEntity {
      */
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "constraints_id_gen")
-    @SequenceGenerator(name = "constraints_id_gen", sequenceName = "constraints_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "constraints_id_gen", sequenceName = "constraints_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
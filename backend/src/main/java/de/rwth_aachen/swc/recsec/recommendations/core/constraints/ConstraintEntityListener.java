@@ -0,0 +1,43 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener for {@link ConstraintEntity}.
+ *
+ * Publishes a {@link ConstraintsChangedEvent} whenever a constraint is created, updated or removed,
+ * so that caches derived from the constraint definitions can be invalidated.
+ */
+@Component
+@Slf4j
+public class ConstraintEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a new {@code ConstraintEntityListener}.
+     *
+     * @param eventPublisher the publisher used to broadcast constraint changes
+     */
+    public ConstraintEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Called by the persistence provider after a constraint row has been written or deleted.
+     *
+     * @param constraint the affected constraint entity
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onConstraintChanged(ConstraintEntity constraint) {
+        log.info("Constraint with ID {} changed", constraint.getId());
+        eventPublisher.publishEvent(new ConstraintsChangedEvent(constraint.getId()));
+    }
+}
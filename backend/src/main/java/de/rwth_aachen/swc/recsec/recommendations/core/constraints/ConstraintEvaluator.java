@@ -1,5 +1,6 @@
 package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
 
+import de.rwth_aachen.swc.recsec.recommendations.core.RecommendationMetrics;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
 import lombok.extern.slf4j.Slf4j;
@@ -11,64 +12,137 @@ import java.util.List;
 /**
  * Evaluates a list of constraints against a given recommendation context.
  *
- * This component processes both hard and soft constraints and returns an evaluation result,
- * including whether all hard constraints were satisfied, a soft score, and detailed explanations.
+ * This component processes both hard and soft constraints in two passes: {@link #score} computes
+ * whether all hard constraints were satisfied and the soft score, and {@link #explain} renders the
+ * detailed explanations, which is only worth doing for the contexts that are actually returned.
  */
 @Slf4j
 @Component
 public class ConstraintEvaluator {
 
     /**
-     * Evaluates a list of constraints against the given recommendation context.
+     * The score of a context that violates an applicable hard constraint.
+     */
+    public static final double REJECTED = Double.NEGATIVE_INFINITY;
+
+    private final RecommendationMetrics recommendationMetrics;
+    private final ConstraintProfiler constraintProfiler;
+
+    /**
+     * Constructs a new {@code ConstraintEvaluator}.
+     *
+     * @param recommendationMetrics the metrics recording constraint evaluation times and rejections
+     * @param constraintProfiler the profiler collecting per-constraint statistics while enabled
+     */
+    public ConstraintEvaluator(RecommendationMetrics recommendationMetrics, ConstraintProfiler constraintProfiler) {
+        this.recommendationMetrics = recommendationMetrics;
+        this.constraintProfiler = constraintProfiler;
+    }
+
+    /**
+     * Scores the given recommendation context against a list of constraints.
+     *
+     * Only the applicability and satisfaction expressions are evaluated. No explanation expressions are run
+     * and no {@link Explanation} objects are built, so scoring a context that is discarded afterwards leaves
+     * no explanation strings behind.
+     * Evaluation stops at the first applicable hard constraint that is violated.
      *
      * @param constraints the list of constraints to evaluate
-     * @param recommendationContext the context in which constraints are being evaluated, typically includes security patterns and project information
-     * @return an {@link EvaluationResult} containing the evaluation outcome
+     * @param recommendationContext the context in which constraints are being evaluated
+     * @return the soft score as the ratio of satisfied to total soft constraint weight, 1.0 if there are no soft
+     *         constraints, or {@link #REJECTED} if an applicable hard constraint is violated
      */
-    public EvaluationResult evaluate(List<? extends Constraint> constraints, RecommendationContext recommendationContext) {
-        boolean allHardSatisfied = true;  // Tracks if all hard constraints are satisfied
+    public double score(List<? extends Constraint> constraints, RecommendationContext recommendationContext) {
+        boolean profiling = constraintProfiler.isEnabled();  // Read once, so that a toggle applies per pattern
         int satisfiedWeight = 0;  // Cumulative weight of satisfied soft constraints
         int totalWeight = 0;  // Total weight of all soft constraints
-        List<Explanation> explanations = new ArrayList<>();  // List of explanations for each constraint
 
-        // Iterate over each constraint and evaluate its satisfaction
         for (Constraint constraint : constraints) {
-            // Evaluate the constraint for the given context
+            // Evaluate applicability and satisfaction; inapplicable constraints count as satisfied
+            long start = profiling ? System.nanoTime() : recommendationMetrics.startConstraintEvaluation();
+            boolean applicable;
+            boolean satisfied;
+            try {
+                applicable = constraint.isApplicable(recommendationContext);
+                satisfied = !applicable || constraint.isSatisfied(recommendationContext);
+            } catch (RuntimeException e) {
+                if (profiling) {
+                    constraintProfiler.recordFailure(constraint, System.nanoTime() - start);
+                }
+                throw e;
+            }
+            recommendationMetrics.recordConstraintEvaluation(constraint, start);
+            if (profiling) {
+                constraintProfiler.record(constraint, System.nanoTime() - start, applicable, satisfied);
+            }
+
+            if (constraint.isHard()) {
+                // A violated hard constraint rejects the context, no further evaluation is needed
+                if (!satisfied) {
+                    recommendationMetrics.recordRejections(constraint, RecommendationMetrics.STAGE_EVALUATION, 1);
+                    return REJECTED;
+                }
+            } else {
+                if (satisfied) {
+                    satisfiedWeight += constraint.getWeight();
+                }
+                totalWeight += constraint.getWeight();
+            }
+        }
+
+        return totalWeight != 0 ? ((double) satisfiedWeight / totalWeight) : 1.0;
+    }
+
+    /**
+     * Renders the explanations of the constraints applicable to the given recommendation context.
+     *
+     * Like {@link #score}, rendering stops after the first applicable hard constraint that is violated.
+     *
+     * @param constraints the list of constraints to explain
+     * @param recommendationContext the context in which constraints are being evaluated
+     * @return the {@link Explanation} of every applicable constraint, in constraint order
+     */
+    public List<Explanation> explain(List<? extends Constraint> constraints, RecommendationContext recommendationContext) {
+        List<Explanation> explanations = new ArrayList<>();
+
+        for (Constraint constraint : constraints) {
             ConstraintResult result = constraint.evaluate(recommendationContext);
 
-            // If the constraint is applicable, add its explanation to the list
             if (result.applicable()) {
-                Explanation explanation = new Explanation(
+                explanations.add(new Explanation(
                         constraint.getName(),
                         constraint.getDescription(),
                         constraint.isHard(),
                         result.applicable(),
                         result.satisfied(),
                         result.explanation()
-                );
-                explanations.add(explanation);
-                log.error("APPLIED");
+                ));
             }
 
-            // Handle hard constraints
-            if (constraint.isHard()) {
-                if (!result.satisfied()) {
-                    allHardSatisfied = false;  // If a hard constraint is not satisfied, stop further evaluation
-                    break;
-                }
-            } else {
-                // Handle soft constraints
-                if (result.satisfied()) {
-                    satisfiedWeight += constraint.getWeight();  // Add weight for satisfied soft constraints
-                }
-                totalWeight += constraint.getWeight();  // Accumulate total weight for all soft constraints
+            if (constraint.isHard() && !result.satisfied()) {
+                break;
             }
         }
 
-        // Calculate the soft score as the ratio of satisfied weight to total weight, defaulting to 1.0 if no soft constraints
-        double softScore = totalWeight != 0 ? ((double) satisfiedWeight / totalWeight) : 1.0;
+        return explanations;
+    }
+
+    /**
+     * Determines the constraints applicable to the given recommendation context, without rendering explanations.
+     *
+     * @param constraints the list of constraints to check
+     * @param recommendationContext the context in which constraints are being evaluated
+     * @return the IDs of the applicable constraints, in constraint order
+     */
+    public List<Long> applicableConstraintIds(List<? extends Constraint> constraints, RecommendationContext recommendationContext) {
+        List<Long> constraintIds = new ArrayList<>();
+
+        for (Constraint constraint : constraints) {
+            if (constraint.isApplicable(recommendationContext)) {
+                constraintIds.add(constraint.getId());
+            }
+        }
 
-        // Return the evaluation result
-        return new EvaluationResult(allHardSatisfied, softScore, explanations);
+        return constraintIds;
     }
 }
\ No newline at end of file
@@ -3,59 +3,25 @@ package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
- * Component for loading and mapping constraints from the repository.
+ * Component for mapping constraints loaded from the repository.
  *
- * The {@code ConstraintLoader} retrieves constraint entities from the database
- * and converts them into {@link SpelConstraint} objects for use in the recommendation system.
+ * The {@code ConstraintLoader} converts the constraint entities loaded by the {@link ConstraintRegistry}
+ * into {@link SpelConstraint} objects for use in the recommendation system.
  */
 @Component
 @Slf4j
 public class ConstraintLoader {
 
-    private final ConstraintRepository constraintRepository;
-
-    /**
-     * Constructs a new {@code ConstraintLoader} with the given repository.
-     *
-     * @param constraintRepository the repository used to retrieve constraint entities
-     */
-    public ConstraintLoader(ConstraintRepository constraintRepository) {
-        this.constraintRepository = constraintRepository;
-    }
+    private final SpelExpressionCache expressionCache;
 
     /**
-     * Loads and maps constraints associated with a specific security control ID.
+     * Constructs a new {@code ConstraintLoader}.
      *
-     * @param securityControlId the ID of the security control
-     * @return a list of {@link SpelConstraint} objects
+     * @param expressionCache the shared cache of parsed SpEL expressions
      */
-    public List<SpelConstraint> loadConstraintsBySecurityControlId(Long securityControlId) {
-        log.info("Loading constraints for security control ID: {}", securityControlId);
-
-        List<ConstraintEntity> entities = constraintRepository.findBySecurityControlId(securityControlId);
-
-        return entities.stream()
-                .map(this::mapConstraintEntityToSpelConstraint)
-                .toList();
-    }
-
-    /**
-     * Loads and maps constraints associated with a specific security pattern ID.
-     *
-     * @param securityPatternId the ID of the security pattern
-     * @return a list of {@link SpelConstraint} objects
-     */
-    public List<SpelConstraint> loadConstraintsBySecurityPatternId(Long securityPatternId) {
-        log.info("Loading constraints for security pattern ID: {}", securityPatternId);
-
-        List<ConstraintEntity> entities = constraintRepository.findBySecurityControlId(securityPatternId);
-
-        return entities.stream()
-                .map(this::mapConstraintEntityToSpelConstraint)
-                .toList();
+    public ConstraintLoader(SpelExpressionCache expressionCache) {
+        this.expressionCache = expressionCache;
     }
 
     /**
@@ -64,10 +30,11 @@ public class ConstraintLoader {
      * @param entity the {@code ConstraintEntity} to map
      * @return a {@code SpelConstraint} object
      */
-    private SpelConstraint mapConstraintEntityToSpelConstraint(ConstraintEntity entity) {
+    SpelConstraint mapConstraintEntityToSpelConstraint(ConstraintEntity entity) {
         log.debug("Mapping ConstraintEntity to SpelConstraint: {}", entity);
 
         return new SpelConstraint(
+                entity.getId(),
                 entity.getApplicabilityExpression(),
                 entity.getSatisfactionExpression(),
                 entity.getSatisfiedExplanationExpression(),
@@ -75,7 +42,8 @@ public class ConstraintLoader {
                 entity.getWeight(),
                 entity.getIsHard(),
                 entity.getName(),
-                entity.getDescription()
+                entity.getDescription(),
+                expressionCache
         );
     }
 }
\ No newline at end of file
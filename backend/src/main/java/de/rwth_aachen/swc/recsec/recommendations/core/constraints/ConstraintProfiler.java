@@ -0,0 +1,209 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.ConstraintProfile;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.ConstraintProfileReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-constraint profiling data while constraints are evaluated.
+ *
+ * Rule authors write arbitrary SpEL into the `constraints` table. While profiling is enabled, the
+ * {@link ConstraintEvaluator} reports every evaluation and the {@link HardConstraintPrefilter} every pattern it
+ * rejects, and the profiler accumulates the evaluation time,
+ * the number of invocations and failures, and how often each constraint was applicable and satisfied,
+ * keyed by the ID of the {@link ConstraintEntity}. The resulting report ranks the slowest and the least
+ * selective constraints.
+ *
+ * Profiling can be switched on and off at runtime; its initial state is configurable via
+ * `recommendation.profiling.enabled`. While disabled, the evaluator skips the profiler entirely.
+ */
+@Component
+@Slf4j
+public class ConstraintProfiler {
+
+    private final ConcurrentMap<Long, Statistics> statistics = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled;
+
+    /**
+     * The time the profiling data was last reset.
+     */
+    private volatile Instant since = Instant.now();
+
+    /**
+     * Constructs a new {@code ConstraintProfiler}.
+     *
+     * @param enabled whether profiling is enabled at startup (`recommendation.profiling.enabled`)
+     */
+    public ConstraintProfiler(@Value("${recommendation.profiling.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indicates whether constraint evaluations are currently profiled.
+     *
+     * @return true if profiling is enabled; false otherwise
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches profiling on or off. The collected data is kept.
+     *
+     * @param enabled whether constraint evaluations should be profiled
+     */
+    public void setEnabled(boolean enabled) {
+        log.info("Constraint profiling {}", enabled ? "enabled" : "disabled");
+        this.enabled = enabled;
+    }
+
+    /**
+     * Discards all collected profiling data.
+     */
+    public void reset() {
+        statistics.clear();
+        since = Instant.now();
+        log.info("Constraint profiling data reset");
+    }
+
+    /**
+     * Records a completed evaluation of a constraint.
+     *
+     * @param constraint the evaluated constraint
+     * @param nanos the duration of the evaluation in nanoseconds
+     * @param applicable whether the constraint was applicable
+     * @param satisfied whether the constraint was satisfied
+     */
+    void record(Constraint constraint, long nanos, boolean applicable, boolean satisfied) {
+        Statistics constraintStatistics = statisticsOf(constraint);
+        constraintStatistics.invocations.increment();
+        constraintStatistics.nanos.add(nanos);
+        if (applicable) {
+            constraintStatistics.applicable.increment();
+            if (satisfied) {
+                constraintStatistics.satisfied.increment();
+            }
+        }
+    }
+
+    /**
+     * Records an evaluation of a constraint that failed with an exception.
+     *
+     * @param constraint the evaluated constraint
+     * @param nanos the duration of the evaluation in nanoseconds
+     */
+    void recordFailure(Constraint constraint, long nanos) {
+        Statistics constraintStatistics = statisticsOf(constraint);
+        constraintStatistics.invocations.increment();
+        constraintStatistics.failures.increment();
+        constraintStatistics.nanos.add(nanos);
+    }
+
+    /**
+     * Records security patterns rejected by a hard constraint in the {@link HardConstraintPrefilter}.
+     *
+     * Rejected patterns never reach the {@link ConstraintEvaluator}, so each of them is counted here as an
+     * applicable, violated evaluation. Their satisfaction was pre-evaluated when the index was built, so no
+     * evaluation time is added.
+     *
+     * @param constraint the hard constraint that rejected the patterns
+     * @param count the number of rejected patterns
+     */
+    void recordPrefilterRejections(Constraint constraint, long count) {
+        if (count <= 0) {
+            return;
+        }
+        Statistics constraintStatistics = statisticsOf(constraint);
+        constraintStatistics.invocations.add(count);
+        constraintStatistics.applicable.add(count);
+    }
+
+    /**
+     * Creates a report ranking the profiled constraints.
+     *
+     * @param limit the maximum number of constraints per ranking
+     * @return a {@link ConstraintProfileReport} with the slowest and the least selective constraints
+     */
+    public ConstraintProfileReport getReport(int limit) {
+        List<ConstraintProfile> profiles = statistics.entrySet().stream()
+                .map(entry -> entry.getValue().toProfile(entry.getKey()))
+                .toList();
+
+        List<ConstraintProfile> slowest = profiles.stream()
+                .sorted(Comparator.comparingDouble(ConstraintProfile::totalTimeMillis).reversed())
+                .limit(limit)
+                .toList();
+        // Among equally unselective constraints, the more expensive ones are listed first
+        List<ConstraintProfile> leastSelective = profiles.stream()
+                .sorted(Comparator.comparingDouble(ConstraintProfile::selectivity)
+                        .thenComparing(Comparator.comparingDouble(ConstraintProfile::totalTimeMillis).reversed()))
+                .limit(limit)
+                .toList();
+
+        return new ConstraintProfileReport(enabled, since, profiles.size(), slowest, leastSelective);
+    }
+
+    /**
+     * Returns the statistics of a constraint, creating them on its first evaluation.
+     *
+     * @param constraint the evaluated constraint
+     * @return the statistics of the constraint
+     */
+    private Statistics statisticsOf(Constraint constraint) {
+        return statistics.computeIfAbsent(constraint.getId(), id -> new Statistics(constraint.getName(), constraint.isHard()));
+    }
+
+    /**
+     * Accumulated profiling data of a single constraint.
+     */
+    private static final class Statistics {
+
+        private final String name;
+        private final boolean hard;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder applicable = new LongAdder();
+        private final LongAdder satisfied = new LongAdder();
+
+        private Statistics(String name, boolean hard) {
+            this.name = name;
+            this.hard = hard;
+        }
+
+        /**
+         * Creates a snapshot of the statistics.
+         *
+         * @param id the ID of the constraint
+         * @return the {@link ConstraintProfile} of the constraint
+         */
+        private ConstraintProfile toProfile(Long id) {
+            long invocationCount = invocations.sum();
+            long applicableCount = applicable.sum();
+            long satisfiedCount = satisfied.sum();
+            double totalNanos = nanos.sum();
+
+            return new ConstraintProfile(
+                    id,
+                    name,
+                    hard,
+                    invocationCount,
+                    failures.sum(),
+                    totalNanos / 1_000_000,
+                    invocationCount != 0 ? totalNanos / invocationCount / 1_000 : 0,
+                    invocationCount != 0 ? (double) applicableCount / invocationCount : 0,
+                    applicableCount != 0 ? (double) satisfiedCount / applicableCount : 0,
+                    invocationCount != 0 ? (double) (applicableCount - satisfiedCount) / invocationCount : 0);
+        }
+    }
+}
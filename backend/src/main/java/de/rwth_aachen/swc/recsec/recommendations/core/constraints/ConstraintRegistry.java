@@ -0,0 +1,171 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory registry of all constraints.
+ *
+ * The registry loads the `constraints` table once at startup and keeps the resulting {@link SpelConstraint}
+ * objects, with pre-parsed expressions, indexed by security control and security pattern. This keeps
+ * database round trips off the recommendation path.
+ *
+ * The registry reloads whenever a {@link ConstraintsChangedEvent} is published. Changes made outside the
+ * application (e.g. by migrations or manual SQL) are detected by periodically polling a
+ * {@link ConstraintWatermark} of the table; such changes should bump `updated_at`.
+ */
+@Component
+@Slf4j
+public class ConstraintRegistry {
+
+    private final ConstraintRepository constraintRepository;
+    private final ConstraintLoader constraintLoader;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * The currently active, immutable view of all constraints.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs a new {@code ConstraintRegistry}.
+     *
+     * @param constraintRepository the repository used to retrieve constraint entities
+     * @param constraintLoader the loader used to map entities to {@link SpelConstraint} objects
+     * @param eventPublisher the publisher used to announce externally detected changes
+     */
+    public ConstraintRegistry(
+            ConstraintRepository constraintRepository,
+            ConstraintLoader constraintLoader,
+            ApplicationEventPublisher eventPublisher) {
+        this.constraintRepository = constraintRepository;
+        this.constraintLoader = constraintLoader;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Loads all constraints when the application starts.
+     */
+    @PostConstruct
+    public void initialize() {
+        reload();
+    }
+
+    /**
+     * Returns all constraints associated with a specific security control ID.
+     *
+     * @param securityControlId the ID of the security control
+     * @return an immutable list of {@link SpelConstraint} objects, empty if there are none
+     */
+    public List<SpelConstraint> getConstraintsBySecurityControlId(Long securityControlId) {
+        return snapshot.bySecurityControlId().getOrDefault(securityControlId, List.of());
+    }
+
+    /**
+     * Returns all constraints associated with a specific security pattern ID.
+     *
+     * @param securityPatternId the ID of the security pattern
+     * @return an immutable list of {@link SpelConstraint} objects, empty if there are none
+     */
+    public List<SpelConstraint> getConstraintsBySecurityPatternId(Long securityPatternId) {
+        return snapshot.bySecurityPatternId().getOrDefault(securityPatternId, List.of());
+    }
+
+    /**
+     * Returns the version of the currently loaded constraints.
+     *
+     * The version is incremented on every reload and can be used to key data derived from the constraints.
+     *
+     * @return the current constraint version
+     */
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    /**
+     * Reloads all constraints from the database and atomically replaces the current snapshot.
+     */
+    public synchronized void reload() {
+        ConstraintWatermark watermark = constraintRepository.findWatermark();
+        List<ConstraintEntity> entities = constraintRepository.findAll();
+
+        Map<Long, List<SpelConstraint>> bySecurityControlId = new HashMap<>();
+        Map<Long, List<SpelConstraint>> bySecurityPatternId = new HashMap<>();
+        for (ConstraintEntity entity : entities) {
+            SpelConstraint constraint = constraintLoader.mapConstraintEntityToSpelConstraint(entity);
+            if (entity.getSecurityControlId() != null) {
+                bySecurityControlId.computeIfAbsent(entity.getSecurityControlId(), id -> new ArrayList<>()).add(constraint);
+            }
+            if (entity.getSecurityPatternId() != null) {
+                bySecurityPatternId.computeIfAbsent(entity.getSecurityPatternId(), id -> new ArrayList<>()).add(constraint);
+            }
+        }
+
+        long version = snapshot == null ? 1 : snapshot.version() + 1;
+        snapshot = new Snapshot(version, watermark, copyOf(bySecurityControlId), copyOf(bySecurityPatternId));
+        log.info("Loaded {} constraints (version {})", entities.size(), version);
+    }
+
+    /**
+     * Reloads the constraints after a change has been committed.
+     *
+     * @param event the event describing the constraint change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConstraintsChanged(ConstraintsChangedEvent event) {
+        reload();
+    }
+
+    /**
+     * Periodically compares the watermark of the `constraints` table with the loaded snapshot and
+     * announces a change if they differ.
+     *
+     * The polling interval is configurable via `recommendation.constraint-registry.refresh-interval`.
+     */
+    @Scheduled(
+            initialDelayString = "${recommendation.constraint-registry.refresh-interval:PT30S}",
+            fixedDelayString = "${recommendation.constraint-registry.refresh-interval:PT30S}")
+    public void checkForChanges() {
+        ConstraintWatermark watermark = constraintRepository.findWatermark();
+        if (!watermark.equals(snapshot.watermark())) {
+            log.info("Detected changes in the constraints table: {}", watermark);
+            eventPublisher.publishEvent(new ConstraintsChangedEvent(null));
+        }
+    }
+
+    /**
+     * Creates an immutable copy of an index map, including its lists.
+     *
+     * @param index the mutable index
+     * @return an immutable copy of the index
+     */
+    private static Map<Long, List<SpelConstraint>> copyOf(Map<Long, List<SpelConstraint>> index) {
+        Map<Long, List<SpelConstraint>> copy = new HashMap<>();
+        index.forEach((id, constraints) -> copy.put(id, List.copyOf(constraints)));
+        return Map.copyOf(copy);
+    }
+
+    /**
+     * Immutable view of all loaded constraints.
+     *
+     * @param version the version of this snapshot
+     * @param watermark the watermark of the `constraints` table at load time
+     * @param bySecurityControlId constraints indexed by security control ID
+     * @param bySecurityPatternId constraints indexed by security pattern ID
+     */
+    private record Snapshot(
+            long version,
+            ConstraintWatermark watermark,
+            Map<Long, List<SpelConstraint>> bySecurityControlId,
+            Map<Long, List<SpelConstraint>> bySecurityPatternId
+    ) { }
+}
@@ -1,30 +1,22 @@
 package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-
-import java.util.List;
+import org.springframework.data.jpa.repository.Query;
 
 /**
  * Repository interface for managing {@link ConstraintEntity} objects.
  *
  * This interface provides methods for performing CRUD operations and
- * querying constraints by their associated security control or security pattern IDs.
+ * computing a watermark of the constraints table.
  */
 public interface ConstraintRepository extends JpaRepository<ConstraintEntity, Long> {
 
     /**
-     * Finds all constraints associated with a specific security control ID.
-     *
-     * @param securityControlId the ID of the security control
-     * @return a list of {@link ConstraintEntity} objects linked to the given security control ID
-     */
-    List<ConstraintEntity> findBySecurityControlId(Long securityControlId);
-
-    /**
-     * Finds all constraints associated with a specific security pattern ID.
+     * Computes a watermark of the constraints table, used to detect changes without loading all rows.
      *
-     * @param securityPatternId the ID of the security pattern
-     * @return a list of {@link ConstraintEntity} objects linked to the given security pattern ID
+     * @return the current {@link ConstraintWatermark}
      */
-    List<ConstraintEntity> findBySecurityPatternId(Long securityPatternId);
+    @Query("select new de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintWatermark("
+            + "count(c), max(c.id), max(c.updatedAt)) from ConstraintEntity c")
+    ConstraintWatermark findWatermark();
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Summary of the `constraints` table used to detect changes without reloading every row.
+ *
+ * @param count the number of constraint rows
+ * @param maxId the highest constraint ID, or {@code null} if the table is empty
+ * @param lastUpdatedAt the most recent `updated_at` timestamp, or {@code null} if none is set
+ */
+public record ConstraintWatermark(
+        Long count,
+        Long maxId,
+        OffsetDateTime lastUpdatedAt
+) { }
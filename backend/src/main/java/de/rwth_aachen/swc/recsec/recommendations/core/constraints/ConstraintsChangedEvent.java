@@ -0,0 +1,13 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+/**
+ * Application event signalling that one or more rows of the `constraints` table have changed.
+ *
+ * Components that hold state derived from constraints (e.g. parsed SpEL expressions)
+ * listen for this event to discard their stale data.
+ *
+ * @param constraintId the ID of the changed constraint, or {@code null} if the change is not tied to a single row
+ */
+public record ConstraintsChangedEvent(
+        Long constraintId
+) { }
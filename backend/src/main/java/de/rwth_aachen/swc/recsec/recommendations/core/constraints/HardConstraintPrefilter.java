@@ -0,0 +1,199 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.recommendations.core.RecommendationMetrics;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-filter that discards security patterns violating hard constraints before they are scored.
+ *
+ * For every prefilterable hard constraint (see {@link SpelConstraint#isPrefilterable()}), the satisfaction
+ * expression is evaluated against each security pattern once, and the outcome is stored as a bitset over
+ * the positions of the patterns in the catalog. The index is rebuilt whenever the catalog or the constraints
+ * change. At request time, only the applicability expressions are evaluated; the bitsets of the applicable
+ * constraints are ANDed, and only the surviving patterns need to be scored.
+ *
+ * Patterns for which a satisfaction expression fails are kept, leaving the decision to the full evaluation.
+ */
+@Component
+@Slf4j
+public class HardConstraintPrefilter {
+
+    /**
+     * Whether the pre-filter is enabled.
+     * Configurable via the application properties (`recommendation.prefilter.enabled`).
+     */
+    @Value("${recommendation.prefilter.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Indexes of the security control catalogs, keyed by security control ID.
+     */
+    private final Map<Long, PrefilterIndex> indexes = new ConcurrentHashMap<>();
+
+    private final RecommendationMetrics recommendationMetrics;
+    private final ConstraintProfiler constraintProfiler;
+
+    /**
+     * Constructs a new {@code HardConstraintPrefilter}.
+     *
+     * @param recommendationMetrics the metrics recording the patterns rejected by each constraint
+     * @param constraintProfiler the profiler recording the patterns rejected by each constraint while enabled
+     */
+    public HardConstraintPrefilter(RecommendationMetrics recommendationMetrics, ConstraintProfiler constraintProfiler) {
+        this.recommendationMetrics = recommendationMetrics;
+        this.constraintProfiler = constraintProfiler;
+    }
+
+    /**
+     * Determines the security patterns that can still satisfy all hard constraints in the given context.
+     *
+     * @param securityControlId the ID of the security control the patterns and constraints belong to
+     * @param constraints the constraints of the security control
+     * @param securityPatterns the catalog of security patterns of the security control
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @return a bitset with a bit set for the position of every surviving security pattern
+     */
+    public BitSet filter(
+            Long securityControlId,
+            List<SpelConstraint> constraints,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences) {
+
+        BitSet survivors = new BitSet(securityPatterns.size());
+        survivors.set(0, securityPatterns.size());
+        if (!enabled) {
+            return survivors;
+        }
+
+        PrefilterIndex index = getIndex(securityControlId, constraints, securityPatterns);
+
+        // The applicability of prefilterable constraints does not depend on the security pattern
+        RecommendationContext requestContext = new RecommendationContext(null, project, userPreferences);
+        for (int i = 0; i < index.constraints().size(); i++) {
+            SpelConstraint constraint = index.constraints().get(i);
+            try {
+                if (constraint.isApplicable(requestContext)) {
+                    int before = survivors.cardinality();
+                    survivors.and(index.satisfiedBy().get(i));
+                    int rejected = before - survivors.cardinality();
+                    recommendationMetrics.recordRejections(constraint, RecommendationMetrics.STAGE_PREFILTER, rejected);
+                    if (constraintProfiler.isEnabled()) {
+                        constraintProfiler.recordPrefilterRejections(constraint, rejected);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.debug("Could not pre-evaluate applicability of constraint '{}'", constraint.getName(), e);
+            }
+        }
+
+        log.debug("Pre-filter kept {} of {} security patterns", survivors.cardinality(), securityPatterns.size());
+        return survivors;
+    }
+
+    /**
+     * Discards all indexes when a constraint has been changed.
+     *
+     * @param event the event describing the constraint change
+     */
+    @EventListener
+    public void onConstraintsChanged(ConstraintsChangedEvent event) {
+        indexes.clear();
+    }
+
+    /**
+     * Returns the index for the given constraints and catalog, building it if it is missing or outdated.
+     *
+     * @param securityControlId the ID of the security control
+     * @param constraints the constraints of the security control
+     * @param securityPatterns the catalog of security patterns
+     * @return an up-to-date {@link PrefilterIndex}
+     */
+    private PrefilterIndex getIndex(
+            Long securityControlId,
+            List<SpelConstraint> constraints,
+            List<SecurityPatternDTO> securityPatterns) {
+
+        PrefilterIndex index = indexes.get(securityControlId);
+        // Constraint lists are replaced as a whole on reload, and catalogs are served as shared instances from
+        // the pattern cache, so identity checks suffice for the common case
+        if (index != null && index.allConstraints() == constraints) {
+            if (index.securityPatterns() == securityPatterns) {
+                return index;
+            }
+            // A catalog reloaded into a new instance only needs the deep comparison once
+            if (index.securityPatterns().equals(securityPatterns)) {
+                index = new PrefilterIndex(constraints, securityPatterns, index.constraints(), index.satisfiedBy());
+                indexes.put(securityControlId, index);
+                return index;
+            }
+        }
+
+        index = buildIndex(constraints, securityPatterns);
+        indexes.put(securityControlId, index);
+        return index;
+    }
+
+    /**
+     * Evaluates the satisfaction of every prefilterable constraint against every security pattern.
+     *
+     * @param constraints the constraints of the security control
+     * @param securityPatterns the catalog of security patterns
+     * @return the resulting {@link PrefilterIndex}
+     */
+    private PrefilterIndex buildIndex(List<SpelConstraint> constraints, List<SecurityPatternDTO> securityPatterns) {
+        List<SpelConstraint> prefilterable = new ArrayList<>();
+        List<BitSet> satisfiedBy = new ArrayList<>();
+
+        for (SpelConstraint constraint : constraints) {
+            if (!constraint.isPrefilterable()) {
+                continue;
+            }
+
+            BitSet satisfied = new BitSet(securityPatterns.size());
+            for (int i = 0; i < securityPatterns.size(); i++) {
+                RecommendationContext patternContext = new RecommendationContext(securityPatterns.get(i), null, null);
+                try {
+                    satisfied.set(i, constraint.isSatisfied(patternContext));
+                } catch (RuntimeException e) {
+                    // Keep the pattern and let the full evaluation decide
+                    satisfied.set(i);
+                }
+            }
+            prefilterable.add(constraint);
+            satisfiedBy.add(satisfied);
+        }
+
+        log.info("Built pre-filter index for {} security patterns and {} hard constraints",
+                securityPatterns.size(), prefilterable.size());
+        return new PrefilterIndex(constraints, securityPatterns, List.copyOf(prefilterable), List.copyOf(satisfiedBy));
+    }
+
+    /**
+     * Pre-evaluated satisfaction of the prefilterable hard constraints of one security control.
+     *
+     * @param allConstraints the constraint list the index was built from
+     * @param securityPatterns the catalog the index was built from
+     * @param constraints the prefilterable constraints
+     * @param satisfiedBy for each prefilterable constraint, the positions of the patterns satisfying it
+     */
+    private record PrefilterIndex(
+            List<SpelConstraint> allConstraints,
+            List<SecurityPatternDTO> securityPatterns,
+            List<SpelConstraint> constraints,
+            List<BitSet> satisfiedBy
+    ) { }
+}
@@ -1,30 +1,47 @@
 package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
 
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.Expression;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.util.Optional;
+import java.util.Set;
+
 /**
  * A constraint implementation based on Spring Expression Language (SpEL).
  *
  * This class allows dynamic evaluation of constraints using SpEL expressions.
  * Constraints can define their applicability, satisfaction, and explanatory logic.
+ * All expressions are parsed once when the constraint is created.
  */
 public class SpelConstraint extends Constraint {
 
-    private final String applicabilityExpression;
-    private final String satisfactionExpression;
-    private final String satisfiedExplanationExpression;
-    private final String violatedExplanationExpression;
+    /**
+     * The root property a satisfaction expression may read to be evaluated ahead of time.
+     */
+    private static final String SECURITY_PATTERN = "securityPattern";
+
+    /**
+     * The root properties an applicability expression may read to be evaluated without a security pattern.
+     */
+    private static final Set<String> REQUEST_CONTEXT = Set.of("project", "userPreferences");
+
+    private final Long id;
+    private final Expression applicabilityExpression;
+    private final Expression satisfactionExpression;
+    private final Expression satisfiedExplanationExpression;
+    private final Expression violatedExplanationExpression;
     private final int weight;
     private final boolean isHard;
     private final String name;
     private final String description;
+    private final SpelExpressionCache expressionCache;
+    private final boolean prefilterable;
 
     /**
      * Constructs a {@code SpelConstraint} with the given expressions and metadata.
      *
+     * @param id the ID of the constraint entity this constraint was loaded from
      * @param applicabilityExpression SpEL expression to evaluate if the constraint is applicable
      * @param satisfactionExpression SpEL expression to determine if the constraint is satisfied
      * @param explanationExpression SpEL expression for the explanation when the constraint is satisfied
@@ -33,8 +50,10 @@ public class SpelConstraint extends Constraint {
      * @param isHard {@code true} if the constraint is mandatory; {@code false} if it is soft
      * @param name the name of the constraint
      * @param description a description of the constraint's purpose
+     * @param expressionCache the shared cache used to parse and evaluate the expressions
      */
     public SpelConstraint(
+            Long id,
             String applicabilityExpression,
             String satisfactionExpression,
             String explanationExpression,
@@ -42,15 +61,25 @@ public class SpelConstraint extends Constraint {
             int weight,
             boolean isHard,
             String name,
-            String description) {
-        this.applicabilityExpression = applicabilityExpression;
-        this.satisfactionExpression = satisfactionExpression;
-        this.satisfiedExplanationExpression = explanationExpression;
-        this.violatedExplanationExpression = violatedExplanationExpression;
+            String description,
+            SpelExpressionCache expressionCache) {
+        this.id = id;
+        this.applicabilityExpression = expressionCache.getExpression(applicabilityExpression);
+        this.satisfactionExpression = expressionCache.getExpression(satisfactionExpression);
+        this.satisfiedExplanationExpression = expressionCache.getExpression(explanationExpression);
+        this.violatedExplanationExpression = expressionCache.getExpression(violatedExplanationExpression);
         this.weight = weight;
         this.isHard = isHard;
         this.name = name;
         this.description = description;
+        this.expressionCache = expressionCache;
+        this.prefilterable = isHard && dependsOnlyOn(this.satisfactionExpression, Set.of(SECURITY_PATTERN))
+                && dependsOnlyOn(this.applicabilityExpression, REQUEST_CONTEXT);
+    }
+
+    @Override
+    public Long getId() {
+        return this.id;
     }
 
     @Override
@@ -73,6 +102,18 @@ public class SpelConstraint extends Constraint {
         return weight;
     }
 
+    /**
+     * Indicates whether this constraint can be used by the {@link HardConstraintPrefilter}.
+     *
+     * This is the case for hard constraints whose satisfaction depends only on the security pattern and
+     * whose applicability does not depend on the security pattern.
+     *
+     * @return true if the constraint can be pre-evaluated per security pattern; false otherwise
+     */
+    public boolean isPrefilterable() {
+        return prefilterable;
+    }
+
     @Override
     protected boolean isApplicable(RecommendationContext context) {
         return evaluateExpression(applicabilityExpression, context, Boolean.class);
@@ -96,16 +137,27 @@ public class SpelConstraint extends Constraint {
     /**
      * Evaluates a given SpEL expression against the provided recommendation context.
      *
-     * @param expressionString the SpEL expression to evaluate
+     * @param expression the parsed SpEL expression to evaluate
      * @param context the context containing data for evaluation
      * @param returnType the expected return type of the expression
      * @param <T> the type of the evaluated result
      * @return the result of the evaluated expression
      */
-    private <T> T evaluateExpression(String expressionString, RecommendationContext context, Class<T> returnType) {
-        ExpressionParser parser = new SpelExpressionParser();
+    private <T> T evaluateExpression(Expression expression, RecommendationContext context, Class<T> returnType) {
         StandardEvaluationContext evalContext = new StandardEvaluationContext(context);
         evalContext.setRootObject(context);
-        return parser.parseExpression(expressionString).getValue(evalContext, returnType);
+        return expressionCache.evaluate(expression, evalContext, returnType);
+    }
+
+    /**
+     * Checks whether an expression reads nothing but the given root properties.
+     *
+     * @param expression the parsed expression to check
+     * @param allowedReferences the root properties the expression may read
+     * @return true if all root references of the expression are allowed; false otherwise
+     */
+    private static boolean dependsOnlyOn(Expression expression, Set<String> allowedReferences) {
+        Optional<Set<String>> references = SpelRootReferences.of(expression);
+        return references.isPresent() && allowedReferences.containsAll(references.get());
     }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared, bounded cache of parsed SpEL expressions.
+ *
+ * Constraint expressions are stored as plain strings in the database. Parsing them is considerably
+ * more expensive than evaluating them, so parsed {@link Expression} objects are kept across requests,
+ * keyed by their expression text. The cache is cleared whenever a constraint changes.
+ *
+ * Depending on the configured {@link SpelCompilerMode}, expressions are additionally compiled to bytecode
+ * after their first (interpreted) evaluation. Expressions that cannot be compiled keep being interpreted;
+ * they are logged and listed by the admin endpoint `/admin/constraints/profile/interpreted-expressions`.
+ */
+@Component
+@Slf4j
+public class SpelExpressionCache {
+
+    private final SpelCompilerMode compilerMode;
+    private final ExpressionParser parser;
+    private final LoadingCache<String, Expression> expressions;
+
+    /**
+     * Expressions for which a compilation attempt has already been made. Entries are removed together with
+     * the evicted expressions.
+     */
+    private final Set<String> compilationAttempted = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Expressions that could not be compiled and fall back to interpreted evaluation.
+     */
+    private final Set<String> interpretedExpressions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new {@code SpelExpressionCache}.
+     *
+     * @param maximumSize the maximum number of parsed expressions to keep
+     *                    (configurable via `recommendation.expression-cache.maximum-size`)
+     * @param compilerMode the SpEL compiler mode used for constraint expressions
+     *                     (configurable via `recommendation.spel.compiler-mode`)
+     */
+    public SpelExpressionCache(
+            @Value("${recommendation.expression-cache.maximum-size:1024}") int maximumSize,
+            @Value("${recommendation.spel.compiler-mode:MIXED}") SpelCompilerMode compilerMode) {
+        this.compilerMode = compilerMode;
+        this.parser = new SpelExpressionParser(new SpelParserConfiguration(compilerMode, getClass().getClassLoader()));
+        this.expressions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .<String, Expression>evictionListener((expressionString, expression, cause) -> {
+                    compilationAttempted.remove(expressionString);
+                    interpretedExpressions.remove(expressionString);
+                })
+                .build(parser::parseExpression);
+        log.info("Using SpEL compiler mode {} for constraint expressions", compilerMode);
+    }
+
+    /**
+     * Returns the parsed expression for the given expression string, parsing it on a cache miss.
+     *
+     * @param expressionString the SpEL expression to look up
+     * @return the parsed {@link Expression}
+     */
+    public Expression getExpression(String expressionString) {
+        return expressions.get(expressionString);
+    }
+
+    /**
+     * Evaluates a parsed expression against the provided evaluation context.
+     *
+     * The first successful evaluation of an expression is interpreted, which lets SpEL determine the
+     * runtime types it needs for compilation. If compilation is enabled, the expression is compiled right
+     * afterwards instead of waiting for SpEL's own interpretation threshold.
+     *
+     * @param expression the parsed expression to evaluate, as returned by {@link #getExpression(String)}
+     * @param evaluationContext the context to evaluate the expression against
+     * @param returnType the expected return type of the expression
+     * @param <T> the type of the evaluated result
+     * @return the result of the evaluated expression
+     */
+    public <T> T evaluate(Expression expression, EvaluationContext evaluationContext, Class<T> returnType) {
+        T value = expression.getValue(evaluationContext, returnType);
+
+        if (compilerMode != SpelCompilerMode.OFF
+                && expression instanceof SpelExpression spelExpression
+                && compilationAttempted.add(spelExpression.getExpressionString())) {
+            compile(spelExpression);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the expressions that could not be compiled and are evaluated in interpreted mode.
+     *
+     * @return an immutable snapshot of the interpreted expressions
+     */
+    public Set<String> getInterpretedExpressions() {
+        return Set.copyOf(interpretedExpressions);
+    }
+
+    /**
+     * Discards all cached expressions when a constraint has been changed.
+     *
+     * @param event the event describing the constraint change
+     */
+    @EventListener
+    public void onConstraintsChanged(ConstraintsChangedEvent event) {
+        log.info("Clearing {} cached SpEL expressions after constraint change", expressions.estimatedSize());
+        expressions.invalidateAll();
+        compilationAttempted.clear();
+        interpretedExpressions.clear();
+    }
+
+    /**
+     * Compiles the given expression and records whether it has to fall back to interpreted evaluation.
+     *
+     * @param expression the parsed expression to compile
+     */
+    private void compile(SpelExpression expression) {
+        if (expression.compileExpression()) {
+            log.debug("Compiled SpEL expression: {}", expression.getExpressionString());
+        } else {
+            interpretedExpressions.add(expression.getExpressionString());
+            log.warn("SpEL expression cannot be compiled, falling back to interpreted evaluation: {}",
+                    expression.getExpressionString());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.Assign;
+import org.springframework.expression.spel.ast.BeanReference;
+import org.springframework.expression.spel.ast.CompoundExpression;
+import org.springframework.expression.spel.ast.FunctionReference;
+import org.springframework.expression.spel.ast.Indexer;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.Projection;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.ast.Selection;
+import org.springframework.expression.spel.ast.VariableReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Static analysis of the properties a SpEL expression reads from its root object.
+ *
+ * For constraint expressions, the root object is a {@code RecommendationContext}, so the root references
+ * tell which parts of the context (`securityPattern`, `project`, `userPreferences`) an expression depends on.
+ * The analysis is conservative: expressions using constructs whose dependencies cannot be determined
+ * statically (variables, functions, bean references, selections, projections, root method calls) are
+ * reported as unknown.
+ */
+final class SpelRootReferences {
+
+    private SpelRootReferences() {
+    }
+
+    /**
+     * Determines the names of the root object properties an expression reads.
+     *
+     * @param expression the parsed expression to analyze
+     * @return the referenced root property names, or empty if they cannot be determined
+     */
+    static Optional<Set<String>> of(Expression expression) {
+        if (!(expression instanceof SpelExpression spelExpression)) {
+            return Optional.empty();
+        }
+        Set<String> references = new HashSet<>();
+        return collect(spelExpression.getAST(), true, references) ? Optional.of(references) : Optional.empty();
+    }
+
+    /**
+     * Recursively collects root references of an AST node.
+     *
+     * @param node the node to analyze
+     * @param rootScoped whether the node is evaluated against the root object
+     * @param references the set receiving the referenced root property names
+     * @return false if the node contains constructs that cannot be analyzed; true otherwise
+     */
+    private static boolean collect(SpelNode node, boolean rootScoped, Set<String> references) {
+        if (node instanceof VariableReference || node instanceof FunctionReference || node instanceof BeanReference
+                || node instanceof Selection || node instanceof Projection || node instanceof Assign) {
+            return false;
+        }
+        if (node instanceof PropertyOrFieldReference propertyReference) {
+            if (rootScoped) {
+                references.add(propertyReference.getName());
+            }
+            return true;
+        }
+        if (rootScoped && (node instanceof MethodReference || node instanceof Indexer)) {
+            // Methods called on, or indexes into, the root object itself
+            return false;
+        }
+        if (node instanceof MethodReference || node instanceof Indexer) {
+            // Method arguments and index expressions are evaluated against the root object
+            return collectChildren(node, 0, true, references);
+        }
+        if (node instanceof CompoundExpression) {
+            // Only the first element of a property chain is resolved against the current scope
+            return node.getChildCount() == 0
+                    || (collect(node.getChild(0), rootScoped, references)
+                    && collectChildren(node, 1, false, references));
+        }
+        return collectChildren(node, 0, rootScoped, references);
+    }
+
+    /**
+     * Collects root references of the children of an AST node, starting at the given index.
+     *
+     * @param node the parent node
+     * @param fromIndex the index of the first child to analyze
+     * @param rootScoped whether the children are evaluated against the root object
+     * @param references the set receiving the referenced root property names
+     * @return false if any child cannot be analyzed; true otherwise
+     */
+    private static boolean collectChildren(SpelNode node, int fromIndex, boolean rootScoped, Set<String> references) {
+        for (int i = fromIndex; i < node.getChildCount(); i++) {
+            if (!collect(node.getChild(i), rootScoped, references)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
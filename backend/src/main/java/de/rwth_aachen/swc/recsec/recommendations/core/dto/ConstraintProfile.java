@@ -0,0 +1,29 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.dto;
+
+/**
+ * Profiling data of a single constraint, collected while constraint profiling is enabled.
+ *
+ * @param id the ID of the constraint
+ * @param name the name of the constraint
+ * @param isHard whether the constraint is hard
+ * @param invocations the number of evaluations, including failed ones
+ * @param failures the number of evaluations that failed with an exception
+ * @param totalTimeMillis the cumulative evaluation time in milliseconds
+ * @param meanTimeMicros the mean evaluation time in microseconds
+ * @param applicableRatio the share of evaluations in which the constraint was applicable
+ * @param satisfiedRatio the share of applicable evaluations in which the constraint was satisfied
+ * @param selectivity the share of evaluations in which the constraint was applicable but violated,
+ *                    i.e. rejected the pattern (hard) or lowered its score (soft)
+ */
+public record ConstraintProfile(
+        Long id,
+        String name,
+        boolean isHard,
+        long invocations,
+        long failures,
+        double totalTimeMillis,
+        double meanTimeMicros,
+        double applicableRatio,
+        double satisfiedRatio,
+        double selectivity
+) { }
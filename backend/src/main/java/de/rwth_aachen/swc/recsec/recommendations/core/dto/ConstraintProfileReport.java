@@ -0,0 +1,21 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Ranked report of the profiled constraints.
+ *
+ * @param enabled whether constraint profiling is currently enabled
+ * @param since the time the profiling data was last reset
+ * @param profiledConstraints the number of constraints with profiling data
+ * @param slowest the constraints with the highest cumulative evaluation time, slowest first
+ * @param leastSelective the constraints with the lowest selectivity, least selective first
+ */
+public record ConstraintProfileReport(
+        boolean enabled,
+        Instant since,
+        int profiledConstraints,
+        List<ConstraintProfile> slowest,
+        List<ConstraintProfile> leastSelective
+) { }
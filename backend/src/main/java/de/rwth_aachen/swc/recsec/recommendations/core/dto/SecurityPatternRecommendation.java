@@ -1,5 +1,6 @@
 package de.rwth_aachen.swc.recsec.recommendations.core.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
 
 import java.util.List;
@@ -10,12 +11,83 @@ import java.util.List;
  * This record encapsulates a security pattern that is recommended based on evaluation criteria,
  * along with the score and detailed explanations for the recommendation.
  *
+ * Recommendations requested without explanations carry the IDs of the applicable constraints and an
+ * explanation handle instead, under which the explanations can be fetched later. Absent fields are not
+ * serialized.
+ *
  * @param securityPattern the recommended security pattern
  * @param score the evaluation score indicating the relevance or suitability of the pattern
- * @param explanations a list of {@link Explanation} objects detailing the evaluation process and rationale
+ * @param explanations a list of {@link Explanation} objects detailing the evaluation process and rationale,
+ *                     or {@code null} if explanations were not rendered
+ * @param recommendationId the ID under which the natural language explanation of this recommendation can be
+ *                         fetched, or {@code null} if none has been assigned
+ * @param constraintIds the IDs of the constraints applicable to the pattern, or {@code null} if explanations
+ *                      were rendered
+ * @param explanationHandle the handle under which the explanations can be fetched, or {@code null} if
+ *                          explanations were rendered
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record SecurityPatternRecommendation(
         SecurityPatternDTO securityPattern,
         double score,
-        List<Explanation> explanations
-) {}
\ No newline at end of file
+        List<Explanation> explanations,
+        String recommendationId,
+        List<Long> constraintIds,
+        String explanationHandle
+) {
+
+    /**
+     * Creates a recommendation without a recommendation ID.
+     *
+     * @param securityPattern the recommended security pattern
+     * @param score the evaluation score indicating the relevance or suitability of the pattern
+     * @param explanations a list of {@link Explanation} objects detailing the evaluation process and rationale
+     */
+    public SecurityPatternRecommendation(SecurityPatternDTO securityPattern, double score, List<Explanation> explanations) {
+        this(securityPattern, score, explanations, null, null, null);
+    }
+
+    /**
+     * Returns a copy of this recommendation with the given explanations.
+     *
+     * @param explanations the explanations of the recommendation
+     * @return the recommendation with the explanations assigned
+     */
+    public SecurityPatternRecommendation withExplanations(List<Explanation> explanations) {
+        return new SecurityPatternRecommendation(
+                securityPattern, score, explanations, recommendationId, constraintIds, explanationHandle);
+    }
+
+    /**
+     * Returns a copy of this recommendation with the given recommendation ID.
+     *
+     * @param recommendationId the recommendation ID
+     * @return the recommendation with the ID assigned
+     */
+    public SecurityPatternRecommendation withRecommendationId(String recommendationId) {
+        return new SecurityPatternRecommendation(
+                securityPattern, score, explanations, recommendationId, constraintIds, explanationHandle);
+    }
+
+    /**
+     * Returns a copy of this recommendation with the given applicable constraint IDs.
+     *
+     * @param constraintIds the IDs of the constraints applicable to the pattern
+     * @return the recommendation with the constraint IDs assigned
+     */
+    public SecurityPatternRecommendation withConstraintIds(List<Long> constraintIds) {
+        return new SecurityPatternRecommendation(
+                securityPattern, score, explanations, recommendationId, constraintIds, explanationHandle);
+    }
+
+    /**
+     * Returns a copy of this recommendation with the given explanation handle.
+     *
+     * @param explanationHandle the handle under which the explanations can be fetched
+     * @return the recommendation with the handle assigned
+     */
+    public SecurityPatternRecommendation withExplanationHandle(String explanationHandle) {
+        return new SecurityPatternRecommendation(
+                securityPattern, score, explanations, recommendationId, constraintIds, explanationHandle);
+    }
+}
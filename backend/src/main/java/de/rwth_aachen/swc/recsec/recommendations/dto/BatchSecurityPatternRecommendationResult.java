@@ -0,0 +1,24 @@
+package de.rwth_aachen.swc.recsec.recommendations.dto;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) representing the result for one item of a batch recommendation request.
+ *
+ * Exactly one of {@code recommendations} and {@code error} is set.
+ *
+ * @param index the position of the item in the batch request
+ * @param securityControlId the ID of the security control of the item
+ * @param projectId the ID of the project of the item
+ * @param recommendations the generated recommendations, or {@code null} if the item failed
+ * @param error a description of why the item failed, or {@code null} if it succeeded
+ */
+public record BatchSecurityPatternRecommendationResult(
+        int index,
+        Long securityControlId,
+        Long projectId,
+        List<SecurityPatternRecommendation> recommendations,
+        String error
+) {}
@@ -29,7 +29,7 @@ public class PreferenceElicitationDialog {
     @SequenceGenerator(
             name = "preference_elicitation_dialogs_id_gen",
             sequenceName = "preference_elicitation_dialogs_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(name = "id", nullable = false)
     private Long id;
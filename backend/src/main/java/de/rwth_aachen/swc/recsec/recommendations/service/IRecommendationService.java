@@ -1,10 +1,13 @@
 package de.rwth_aachen.swc.recsec.recommendations.service;
 
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+import de.rwth_aachen.swc.recsec.recommendations.dto.BatchSecurityPatternRecommendationResult;
 import de.rwth_aachen.swc.recsec.recommendations.dto.PreferenceElicitationDialogDTO;
 import de.rwth_aachen.swc.recsec.recommendations.dto.SecurityPatternRecommendationRequest;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service interface for handling recommendation-related operations.
@@ -19,11 +22,38 @@ public interface IRecommendationService {
      *
      * @param userId the ID of the user requesting the recommendations
      * @param securityPatternRecommendationRequest the request containing user preferences and context
+     * @param withExplanations whether explanations are rendered, or only the applicable constraint IDs and an
+     *                         explanation handle returned
      * @return a list of {@link SecurityPatternRecommendation} objects
      */
     List<SecurityPatternRecommendation> getSecurityPatternRecommendations(
             String userId,
-            SecurityPatternRecommendationRequest securityPatternRecommendationRequest
+            SecurityPatternRecommendationRequest securityPatternRecommendationRequest,
+            boolean withExplanations
+    );
+
+    /**
+     * Renders the explanations of a recommendation that was returned without explanations.
+     *
+     * @param userId the ID of the user requesting the explanations
+     * @param explanationHandle the explanation handle of the recommendation
+     * @return the {@link Explanation} of every applicable constraint
+     */
+    List<Explanation> getExplanations(String userId, String explanationHandle);
+
+    /**
+     * Generates security pattern recommendations for many requests in one pass.
+     *
+     * Security patterns and projects are fetched once per distinct security control and project before
+     * this method returns; the recommendations themselves are computed lazily as the stream is consumed.
+     *
+     * @param userId the ID of the user requesting the recommendations
+     * @param securityPatternRecommendationRequests the requests containing user preferences and context
+     * @return a stream with one {@link BatchSecurityPatternRecommendationResult} per request, in request order
+     */
+    Stream<BatchSecurityPatternRecommendationResult> getSecurityPatternRecommendations(
+            String userId,
+            List<SecurityPatternRecommendationRequest> securityPatternRecommendationRequests
     );
 
     /**
@@ -0,0 +1,82 @@
+package de.rwth_aachen.swc.recsec.recommendations.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Short-lived store of the inputs of recommendations returned without explanations.
+ *
+ * Each stored recommendation is addressed by a random handle. The explanations are not stored themselves;
+ * they are rendered on demand from the stored inputs, so that recommendations whose explanations are never
+ * requested cost nothing beyond the entry.
+ */
+@Component
+public class RecommendationExplanationStore {
+
+    private final Cache<String, RecommendationInputs> cache;
+
+    /**
+     * Constructs a new RecommendationExplanationStore.
+     *
+     * @param maximumSize the maximum number of stored recommendations (`recommendation.explanation-handles.maximum-size`)
+     * @param ttl the time after which a handle expires (`recommendation.explanation-handles.ttl`)
+     */
+    public RecommendationExplanationStore(
+            @Value("${recommendation.explanation-handles.maximum-size:10000}") long maximumSize,
+            @Value("${recommendation.explanation-handles.ttl:PT15M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Stores the inputs of a recommendation.
+     *
+     * @param inputs the inputs the recommendation was computed from
+     * @return the handle under which the inputs can be retrieved
+     */
+    public String put(RecommendationInputs inputs) {
+        String handle = UUID.randomUUID().toString();
+        cache.put(handle, inputs);
+        return handle;
+    }
+
+    /**
+     * Retrieves the inputs of a recommendation.
+     *
+     * @param handle the handle returned by {@link #put(RecommendationInputs)}
+     * @return the stored inputs, or empty if the handle is unknown or has expired
+     */
+    public Optional<RecommendationInputs> get(String handle) {
+        return Optional.ofNullable(cache.getIfPresent(handle));
+    }
+
+    /**
+     * Inputs of a single recommendation.
+     *
+     * @param userId the ID of the user the recommendation was returned to
+     * @param securityControlId the ID of the security control
+     * @param securityPattern the recommended security pattern
+     * @param project the project context at the time of the recommendation
+     * @param userPreferences the user-defined preferences
+     * @param constraintVersion the version of the constraints the recommendation was scored with
+     */
+    public record RecommendationInputs(
+            String userId,
+            Long securityControlId,
+            SecurityPatternDTO securityPattern,
+            ProjectDTO project,
+            Map<String, Object> userPreferences,
+            long constraintVersion
+    ) { }
+}
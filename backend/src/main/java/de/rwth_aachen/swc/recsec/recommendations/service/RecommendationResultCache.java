@@ -0,0 +1,191 @@
+package de.rwth_aachen.swc.recsec.recommendations.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.projects.service.ProjectChangedEvent;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintRegistry;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintsChangedEvent;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for security pattern recommendations.
+ *
+ * Entries are keyed by a fingerprint of everything the recommendation depends on: the security control,
+ * the project properties, the normalized user preferences, the version of the loaded constraints and the
+ * security pattern catalog. Entries of a project are evicted when the project changes, and all entries are
+ * evicted when the constraints change.
+ */
+@Component
+@Slf4j
+public class RecommendationResultCache {
+
+    private final ConstraintRegistry constraintRegistry;
+    private final ObjectMapper canonicalObjectMapper;
+    private final Cache<RecommendationCacheKey, List<SecurityPatternRecommendation>> cache;
+
+    /**
+     * Digests of the security pattern catalogs, keyed by catalog instance. Catalogs are served from the
+     * pattern cache, so repeated requests share the instance and the catalog is serialized only once.
+     */
+    private final Cache<List<SecurityPatternDTO>, String> catalogDigests = Caffeine.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Whether recommendation results are cached.
+     * Configurable via the application properties (`recommendation.result-cache.enabled`).
+     */
+    @Value("${recommendation.result-cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Constructs a new RecommendationResultCache.
+     *
+     * @param constraintRegistry the registry providing the current constraint version
+     * @param objectMapper the application's object mapper, used as a template for fingerprinting
+     * @param maximumSize the maximum number of cached results (`recommendation.result-cache.maximum-size`)
+     * @param ttl the time after which a cached result expires (`recommendation.result-cache.ttl`)
+     */
+    public RecommendationResultCache(
+            ConstraintRegistry constraintRegistry,
+            ObjectMapper objectMapper,
+            @Value("${recommendation.result-cache.maximum-size:10000}") long maximumSize,
+            @Value("${recommendation.result-cache.ttl:PT10M}") Duration ttl) {
+        this.constraintRegistry = constraintRegistry;
+        // Sorted map keys and dropped null values make equal inputs serialize identically
+        this.canonicalObjectMapper = objectMapper.copy()
+                .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+                .setDefaultPropertyInclusion(JsonInclude.Value.construct(JsonInclude.Include.NON_NULL, JsonInclude.Include.NON_NULL));
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Returns the cached recommendations for the given inputs, computing and caching them on a miss.
+     *
+     * Concurrent requests with identical inputs compute the recommendations only once.
+     *
+     * @param securityControlId the ID of the security control
+     * @param securityPatterns the security pattern catalog of the security control
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @param withExplanations whether the recommendations contain rendered explanations
+     * @param recommendations supplies the recommendations on a cache miss
+     * @return the cached or freshly computed recommendations
+     */
+    public List<SecurityPatternRecommendation> get(
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences,
+            boolean withExplanations,
+            Supplier<List<SecurityPatternRecommendation>> recommendations) {
+
+        if (!enabled) {
+            return recommendations.get();
+        }
+
+        RecommendationCacheKey key = new RecommendationCacheKey(
+                project.id(), fingerprint(securityControlId, securityPatterns, project, userPreferences, withExplanations));
+        return cache.get(key, k -> {
+            log.debug("Recommendation cache miss for project id={} and security control ID: {}", project.id(), securityControlId);
+            return recommendations.get();
+        });
+    }
+
+    /**
+     * Evicts all cached recommendations of a project after the change has been committed.
+     *
+     * @param event the event describing the project change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectChanged(ProjectChangedEvent event) {
+        cache.asMap().keySet().removeIf(key -> key.projectId().equals(event.projectId()));
+    }
+
+    /**
+     * Evicts all cached recommendations after a constraint has changed.
+     *
+     * @param event the event describing the constraint change
+     */
+    @EventListener
+    public void onConstraintsChanged(ConstraintsChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Computes a SHA-256 fingerprint over the inputs a recommendation depends on.
+     *
+     * @param securityControlId the ID of the security control
+     * @param securityPatterns the security pattern catalog of the security control
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @param withExplanations whether the recommendations contain rendered explanations
+     * @return the hex-encoded fingerprint
+     */
+    private String fingerprint(
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences,
+            boolean withExplanations) {
+
+        Map<String, Object> inputs = new LinkedHashMap<>();
+        inputs.put("securityControlId", securityControlId);
+        inputs.put("projectProperties", project.properties());
+        inputs.put("userPreferences", userPreferences);
+        inputs.put("constraintVersion", constraintRegistry.getVersion());
+        inputs.put("catalog", catalogDigests.get(securityPatterns, this::digest));
+        inputs.put("explanations", withExplanations);
+
+        return digest(inputs);
+    }
+
+    /**
+     * Computes a SHA-256 hash over the canonical JSON serialization of a value.
+     *
+     * @param value the value to hash
+     * @return the hex-encoded hash
+     */
+    private String digest(Object value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonicalObjectMapper.writeValueAsBytes(value)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint recommendation inputs", e);
+        }
+    }
+
+    /**
+     * Key of a cached recommendation result.
+     *
+     * @param projectId the ID of the project, used for targeted eviction
+     * @param fingerprint the fingerprint of all recommendation inputs
+     */
+    private record RecommendationCacheKey(
+            Long projectId,
+            String fingerprint
+    ) { }
+}
@@ -1,9 +1,15 @@
 package de.rwth_aachen.swc.recsec.recommendations.service;
 
+import de.rwth_aachen.swc.recsec.ai.service.IAiService;
+import de.rwth_aachen.swc.recsec.ai.service.IExplanationPrecomputeService;
 import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
 import de.rwth_aachen.swc.recsec.projects.service.IProjectService;
 import de.rwth_aachen.swc.recsec.recommendations.core.ConstraintBasedRecommender;
+import de.rwth_aachen.swc.recsec.recommendations.core.RecommendationMetrics;
+import de.rwth_aachen.swc.recsec.recommendations.core.constraints.ConstraintRegistry;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
 import de.rwth_aachen.swc.recsec.recommendations.core.dto.SecurityPatternRecommendation;
+import de.rwth_aachen.swc.recsec.recommendations.dto.BatchSecurityPatternRecommendationResult;
 import de.rwth_aachen.swc.recsec.recommendations.dto.PreferenceElicitationDialogDTO;
 import de.rwth_aachen.swc.recsec.recommendations.dto.SecurityPatternRecommendationRequest;
 import de.rwth_aachen.swc.recsec.recommendations.mapper.PreferenceElicitationDialogMapper;
@@ -11,11 +17,16 @@ import de.rwth_aachen.swc.recsec.recommendations.repository.PreferenceElicitatio
 import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
 import de.rwth_aachen.swc.recsec.security_patterns.service.ISecurityPatternService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for handling recommendation-related operations.
@@ -32,6 +43,12 @@ public class RecommendationService implements IRecommendationService {
     private final ConstraintBasedRecommender recommender;
     private final PreferenceElicitationDialogMapper preferenceElicitationDialogMapper;
     private final PreferenceElicitationDialogRepository preferenceElicitationDialogRepository;
+    private final RecommendationResultCache recommendationResultCache;
+    private final IAiService aiService;
+    private final IExplanationPrecomputeService explanationPrecomputeService;
+    private final RecommendationMetrics recommendationMetrics;
+    private final RecommendationExplanationStore recommendationExplanationStore;
+    private final ConstraintRegistry constraintRegistry;
 
     /**
      * Constructs a new RecommendationService with the specified dependencies.
@@ -41,46 +58,189 @@ public class RecommendationService implements IRecommendationService {
      * @param recommender the constraint-based recommender for generating recommendations
      * @param preferenceElicitationDialogMapper the mapper for converting dialog entities to DTOs
      * @param preferenceElicitationDialogRepository the repository for managing dialog entities
+     * @param recommendationResultCache the cache for previously computed recommendations
+     * @param aiService the service assigning the natural language explanation IDs
+     * @param explanationPrecomputeService the service generating natural language explanations in the background
+     * @param recommendationMetrics the metrics recording the duration of the fetch stages
+     * @param recommendationExplanationStore the store of recommendations whose explanations are rendered on demand
+     * @param constraintRegistry the registry providing the current constraint version
      */
     public RecommendationService(
             ISecurityPatternService securityPatternService,
             IProjectService projectService,
             ConstraintBasedRecommender recommender,
             PreferenceElicitationDialogMapper preferenceElicitationDialogMapper,
-            PreferenceElicitationDialogRepository preferenceElicitationDialogRepository) {
+            PreferenceElicitationDialogRepository preferenceElicitationDialogRepository,
+            RecommendationResultCache recommendationResultCache,
+            IAiService aiService,
+            IExplanationPrecomputeService explanationPrecomputeService,
+            RecommendationMetrics recommendationMetrics,
+            RecommendationExplanationStore recommendationExplanationStore,
+            ConstraintRegistry constraintRegistry) {
         this.securityPatternService = securityPatternService;
         this.projectService = projectService;
         this.recommender = recommender;
         this.preferenceElicitationDialogMapper = preferenceElicitationDialogMapper;
         this.preferenceElicitationDialogRepository = preferenceElicitationDialogRepository;
+        this.recommendationResultCache = recommendationResultCache;
+        this.aiService = aiService;
+        this.explanationPrecomputeService = explanationPrecomputeService;
+        this.recommendationMetrics = recommendationMetrics;
+        this.recommendationExplanationStore = recommendationExplanationStore;
+        this.constraintRegistry = constraintRegistry;
     }
 
     /**
      * Generates a list of security pattern recommendations based on user preferences and project context.
      *
+     * Without explanations, each recommendation carries the IDs of its applicable constraints and an
+     * explanation handle instead, and no natural language explanations are generated in the background.
+     *
      * @param userId the ID of the user requesting the recommendations
      * @param securityPatternRecommendationRequest the request containing user preferences and context
+     * @param withExplanations whether explanations are rendered, or only the applicable constraint IDs and an
+     *                         explanation handle returned
      * @return a list of {@link SecurityPatternRecommendation} objects
      */
     @Override
     public List<SecurityPatternRecommendation> getSecurityPatternRecommendations(
             String userId,
-            SecurityPatternRecommendationRequest securityPatternRecommendationRequest) {
+            SecurityPatternRecommendationRequest securityPatternRecommendationRequest,
+            boolean withExplanations) {
 
         log.info("Generating security pattern recommendations for user: {}", userId);
         log.debug("Request details: {}", securityPatternRecommendationRequest);
 
-        List<SecurityPatternDTO> securityPatterns =
-                securityPatternService.getSecurityPatternsBySecurityControlId(
-                        securityPatternRecommendationRequest.securityControlId());
+        List<SecurityPatternDTO> securityPatterns = recommendationMetrics.timeStage(RecommendationMetrics.STAGE_PATTERN_FETCH,
+                () -> securityPatternService.getSecurityPatternsBySecurityControlId(
+                        securityPatternRecommendationRequest.securityControlId()));
+
+        ProjectDTO project = recommendationMetrics.timeStage(RecommendationMetrics.STAGE_PROJECT_FETCH,
+                () -> projectService.getProjectById(userId, securityPatternRecommendationRequest.projectId()));
 
-        ProjectDTO project = projectService.getProjectById(userId, securityPatternRecommendationRequest.projectId());
+        if (!withExplanations) {
+            return recommendWithoutExplanations(
+                    userId,
+                    securityPatternRecommendationRequest.securityControlId(),
+                    securityPatterns,
+                    project,
+                    securityPatternRecommendationRequest.userPreferences());
+        }
 
-        return recommender.getSecurityPatternRecommendations(
+        List<SecurityPatternRecommendation> recommendations = recommend(
                 securityPatternRecommendationRequest.securityControlId(),
                 securityPatterns,
                 project,
                 securityPatternRecommendationRequest.userPreferences());
+
+        // Start generating the explanations the user is about to request
+        explanationPrecomputeService.precompute(recommendations);
+        return recommendations;
+    }
+
+    /**
+     * Renders the explanations of a recommendation that was returned without explanations.
+     *
+     * The explanations are rendered from the inputs the recommendation was computed from, so they match the
+     * returned score as long as the constraints have not changed since.
+     *
+     * @param userId the ID of the user requesting the explanations
+     * @param explanationHandle the explanation handle of the recommendation
+     * @return the {@link Explanation} of every applicable constraint
+     * @throws ResponseStatusException with 404 if the handle is unknown, has expired or belongs to another user,
+     *                                 or with 410 if the constraints have changed since the recommendation
+     */
+    @Override
+    public List<Explanation> getExplanations(String userId, String explanationHandle) {
+        log.info("Rendering explanations of recommendation {} for user: {}", explanationHandle, userId);
+
+        RecommendationExplanationStore.RecommendationInputs inputs = recommendationExplanationStore.get(explanationHandle)
+                .filter(storedInputs -> storedInputs.userId().equals(userId))
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND,
+                        "Recommendation not found or expired: " + explanationHandle
+                ));
+
+        if (inputs.constraintVersion() != constraintRegistry.getVersion()) {
+            throw new ResponseStatusException(
+                    HttpStatus.GONE,
+                    "The constraints have changed since recommendation " + explanationHandle + " was made."
+            );
+        }
+
+        return recommender.getExplanations(
+                inputs.securityControlId(), inputs.securityPattern(), inputs.project(), inputs.userPreferences());
+    }
+
+    /**
+     * Generates security pattern recommendations for many requests in one pass.
+     *
+     * An item that fails, because its project is not accessible or its evaluation throws, yields a result
+     * carrying the error, and the remaining items are still evaluated.
+     *
+     * @param userId the ID of the user requesting the recommendations
+     * @param securityPatternRecommendationRequests the requests containing user preferences and context
+     * @return a stream with one {@link BatchSecurityPatternRecommendationResult} per request, in request order
+     */
+    @Override
+    public Stream<BatchSecurityPatternRecommendationResult> getSecurityPatternRecommendations(
+            String userId,
+            List<SecurityPatternRecommendationRequest> securityPatternRecommendationRequests) {
+
+        log.info("Generating batch of {} security pattern recommendations for user: {}",
+                securityPatternRecommendationRequests.size(), userId);
+
+        // Fetch every security pattern catalog and project only once
+        Map<Long, List<SecurityPatternDTO>> securityPatternsByControlId = new HashMap<>();
+        Map<Long, ProjectDTO> projectsById = new HashMap<>();
+        Map<Long, String> projectErrorsById = new HashMap<>();
+        for (SecurityPatternRecommendationRequest request : securityPatternRecommendationRequests) {
+            securityPatternsByControlId.computeIfAbsent(
+                    request.securityControlId(), securityControlId -> recommendationMetrics.timeStage(
+                            RecommendationMetrics.STAGE_PATTERN_FETCH,
+                            () -> securityPatternService.getSecurityPatternsBySecurityControlId(securityControlId)));
+
+            if (!projectsById.containsKey(request.projectId()) && !projectErrorsById.containsKey(request.projectId())) {
+                try {
+                    projectsById.put(request.projectId(), recommendationMetrics.timeStage(
+                            RecommendationMetrics.STAGE_PROJECT_FETCH,
+                            () -> projectService.getProjectById(userId, request.projectId())));
+                } catch (ResponseStatusException e) {
+                    projectErrorsById.put(request.projectId(), e.getReason());
+                }
+            }
+        }
+
+        return IntStream.range(0, securityPatternRecommendationRequests.size())
+                .mapToObj(index -> {
+                    SecurityPatternRecommendationRequest request = securityPatternRecommendationRequests.get(index);
+                    ProjectDTO project = projectsById.get(request.projectId());
+                    if (project == null) {
+                        return new BatchSecurityPatternRecommendationResult(
+                                index, request.securityControlId(), request.projectId(),
+                                null, projectErrorsById.get(request.projectId()));
+                    }
+
+                    // Items are evaluated while the response is streamed, so a failing item must not abort the stream
+                    try {
+                        List<SecurityPatternRecommendation> recommendations = recommend(
+                                request.securityControlId(),
+                                securityPatternsByControlId.get(request.securityControlId()),
+                                project,
+                                request.userPreferences());
+                        return new BatchSecurityPatternRecommendationResult(
+                                index, request.securityControlId(), request.projectId(), recommendations, null);
+                    } catch (ResponseStatusException e) {
+                        return new BatchSecurityPatternRecommendationResult(
+                                index, request.securityControlId(), request.projectId(), null, e.getReason());
+                    } catch (RuntimeException e) {
+                        log.error("Error generating recommendations for batch item {} of user {}: {}",
+                                index, userId, e.getMessage(), e);
+                        return new BatchSecurityPatternRecommendationResult(
+                                index, request.securityControlId(), request.projectId(), null,
+                                "Could not generate recommendations.");
+                    }
+                });
     }
 
     /**
@@ -91,6 +251,7 @@ public class RecommendationService implements IRecommendationService {
      * @throws ResponseStatusException if no dialog is found for the given security control ID
      */
     @Override
+    @Cacheable(value = "preferenceElicitationDialogsByControlCache", key = "#securityControlId")
     public PreferenceElicitationDialogDTO getPreferenceElicitationDialogBySecurityControlId(Long securityControlId) {
         log.info("Fetching preference elicitation dialog for security control ID: {}", securityControlId);
 
@@ -111,6 +272,7 @@ public class RecommendationService implements IRecommendationService {
      * @throws ResponseStatusException if no dialog is found for the given security pattern ID
      */
     @Override
+    @Cacheable(value = "preferenceElicitationDialogsByPatternCache", key = "#securityPatternId")
     public PreferenceElicitationDialogDTO getPreferenceElicitationDialogBySecurityPatternId(Long securityPatternId) {
         log.info("Fetching preference elicitation dialog for security pattern ID: {}", securityPatternId);
 
@@ -122,4 +284,63 @@ public class RecommendationService implements IRecommendationService {
                         ))
         );
     }
+
+    /**
+     * Generates recommendations through the result cache and assigns their recommendation IDs.
+     *
+     * @param securityControlId the ID of the security control
+     * @param securityPatterns the security pattern catalog of the security control
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @return a list of {@link SecurityPatternRecommendation} objects
+     */
+    private List<SecurityPatternRecommendation> recommend(
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences) {
+
+        return recommendationResultCache.get(securityControlId, securityPatterns, project, userPreferences, true,
+                () -> recommender.getSecurityPatternRecommendations(securityControlId, securityPatterns, project, userPreferences)
+                        .stream()
+                        .map(recommendation -> recommendation.withRecommendationId(aiService.getNaturalLanguageExplanationId(
+                                recommendation.securityPattern(), recommendation.explanations())))
+                        .toList());
+    }
+
+    /**
+     * Generates recommendations without explanations through the result cache and assigns their explanation
+     * handles.
+     *
+     * The cached recommendations are shared between users, so the user-bound handles are assigned per request.
+     *
+     * @param userId the ID of the user requesting the recommendations
+     * @param securityControlId the ID of the security control
+     * @param securityPatterns the security pattern catalog of the security control
+     * @param project the project context
+     * @param userPreferences the user-defined preferences
+     * @return a list of {@link SecurityPatternRecommendation} objects without explanations
+     */
+    private List<SecurityPatternRecommendation> recommendWithoutExplanations(
+            String userId,
+            Long securityControlId,
+            List<SecurityPatternDTO> securityPatterns,
+            ProjectDTO project,
+            Map<String, Object> userPreferences) {
+
+        long constraintVersion = constraintRegistry.getVersion();
+        return recommendationResultCache.get(securityControlId, securityPatterns, project, userPreferences, false,
+                        () -> recommender.getSecurityPatternRecommendationsWithoutExplanations(
+                                securityControlId, securityPatterns, project, userPreferences))
+                .stream()
+                .map(recommendation -> recommendation.withExplanationHandle(recommendationExplanationStore.put(
+                        new RecommendationExplanationStore.RecommendationInputs(
+                                userId,
+                                securityControlId,
+                                recommendation.securityPattern(),
+                                project,
+                                userPreferences,
+                                constraintVersion))))
+                .toList();
+    }
 }
\ No newline at end of file
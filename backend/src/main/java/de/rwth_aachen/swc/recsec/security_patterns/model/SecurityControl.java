@@ -33,7 +33,7 @@ public class SecurityControl {
     @SequenceGenerator(
             name = "security_controls_id_gen",
             sequenceName = "security_controls_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(name = "id", nullable = false)
     private Long id;
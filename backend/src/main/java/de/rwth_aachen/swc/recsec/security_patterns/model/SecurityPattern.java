@@ -34,7 +34,7 @@ public class SecurityPattern {
     @SequenceGenerator(
             name = "security_patterns_id_gen",
             sequenceName = "security_patterns_id_seq",
-            allocationSize = 1
+            allocationSize = 50
     )
     @Column(name = "id", nullable = false)
     private Long id;
@@ -2,8 +2,11 @@ package de.rwth_aachen.swc.recsec.security_patterns.repository;
 
 import de.rwth_aachen.swc.recsec.security_patterns.model.SecurityPattern;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link SecurityPattern} entities.
@@ -14,10 +17,28 @@ import java.util.List;
 public interface SecurityPatternRepository extends JpaRepository<SecurityPattern, Long> {
 
     /**
-     * Finds all {@link SecurityPattern} entities associated with a given security control ID.
+     * Finds all {@link SecurityPattern} entities together with their security control in a single query.
+     *
+     * @return a list of all {@link SecurityPattern} entities with initialized security controls
+     */
+    @Query("select sp from SecurityPattern sp left join fetch sp.securityControl")
+    List<SecurityPattern> findAllWithSecurityControl();
+
+    /**
+     * Finds all {@link SecurityPattern} entities of a given security control, fetching the control in the same query.
      *
      * @param securityControlId the ID of the security control to filter patterns by
-     * @return a list of {@link SecurityPattern} entities associated with the specified security control ID
+     * @return a list of {@link SecurityPattern} entities with initialized security controls
+     */
+    @Query("select sp from SecurityPattern sp join fetch sp.securityControl sc where sc.id = :securityControlId")
+    List<SecurityPattern> findAllWithSecurityControlBySecurityControlId(@Param("securityControlId") Long securityControlId);
+
+    /**
+     * Finds a {@link SecurityPattern} entity by its ID, fetching its security control in the same query.
+     *
+     * @param securityPatternId the ID of the security pattern
+     * @return an {@link Optional} containing the security pattern with initialized security control, if found
      */
-    List<SecurityPattern> findAllBySecurityControl_Id(Long securityControlId);
-}
\ No newline at end of file
+    @Query("select sp from SecurityPattern sp left join fetch sp.securityControl where sp.id = :securityPatternId")
+    Optional<SecurityPattern> findWithSecurityControlById(@Param("securityPatternId") Long securityPatternId);
+}
@@ -45,7 +45,7 @@ public class SecurityPatternService implements ISecurityPatternService {
     @Cacheable(value = "allSecurityPatternsCache")
     public List<SecurityPatternDTO> getSecurityPatterns() {
         log.info("Fetching all security patterns.");
-        List<SecurityPattern> securityPatterns = securityPatternRepository.findAll();
+        List<SecurityPattern> securityPatterns = securityPatternRepository.findAllWithSecurityControl();
         return securityPatterns.stream()
                 .map(securityPatternMapper::mapSecurityPatternToDTO)
                 .collect(Collectors.toList());
@@ -58,9 +58,10 @@ public class SecurityPatternService implements ISecurityPatternService {
      * @return A list of SecurityPatternDTO objects associated with the given security control ID.
      */
     @Override
+    @Cacheable(value = "securityPatternsByControlCache", key = "#securityControlId")
     public List<SecurityPatternDTO> getSecurityPatternsBySecurityControlId(Long securityControlId) {
         log.info("Fetching security patterns for security control ID: {}", securityControlId);
-        return securityPatternRepository.findAllBySecurityControl_Id(securityControlId).stream()
+        return securityPatternRepository.findAllWithSecurityControlBySecurityControlId(securityControlId).stream()
                 .map(securityPatternMapper::mapSecurityPatternToDTO)
                 .toList();
     }
@@ -76,7 +77,7 @@ public class SecurityPatternService implements ISecurityPatternService {
     @Cacheable(value = "securityPatternsCache", key = "#securityPatternId")
     public SecurityPatternDTO getSecurityPatternById(Long securityPatternId) {
         log.info("Fetching security pattern with ID: {}", securityPatternId);
-        SecurityPattern securityPattern = securityPatternRepository.findById(securityPatternId)
+        SecurityPattern securityPattern = securityPatternRepository.findWithSecurityControlById(securityPatternId)
                 .orElseThrow(() -> {
                     log.error("Security pattern not found for ID: {}", securityPatternId);
                     return new IllegalArgumentException("Security pattern not found for ID: " + securityPatternId);
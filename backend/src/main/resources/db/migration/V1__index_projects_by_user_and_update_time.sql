@@ -0,0 +1,2 @@
+-- Supports the keyset-paginated project listing, ordered by updated_at desc, id desc per user
+CREATE INDEX idx_projects_user_id_updated_at_id ON projects (user_id, updated_at DESC, id DESC);
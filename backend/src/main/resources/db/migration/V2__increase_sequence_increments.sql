@@ -0,0 +1,10 @@
+-- Hand out IDs in blocks of 50 (matching allocationSize of the JPA entities) so that Hibernate
+-- needs one sequence round trip per 50 inserts. The sequences are realigned with the existing rows
+-- by the afterMigrate callback, once the catalog rows have been inserted.
+ALTER SEQUENCE security_controls_id_seq INCREMENT BY 50;
+ALTER SEQUENCE security_patterns_id_seq INCREMENT BY 50;
+ALTER SEQUENCE constraints_id_seq INCREMENT BY 50;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE project_security_requirements_id_seq INCREMENT BY 50;
+ALTER SEQUENCE preference_elicitation_dialogs_id_seq INCREMENT BY 50;
+
@@ -0,0 +1,22 @@
+-- Flyway callback, run after every migration including the repeatable ones. The catalog rows of
+-- R__security_patterns.sql are inserted with explicit IDs, so the sequences are moved past them here.
+-- Hibernate's pooled optimizer treats each sequence value as the upper end of a block of 50 IDs, so the
+-- next value must be at least MAX(id) + 50. Sequences are never moved backwards.
+SELECT setval('security_controls_id_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM security_controls), 0) + 50,
+        (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM security_controls_id_seq)), false);
+SELECT setval('security_patterns_id_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM security_patterns), 0) + 50,
+        (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM security_patterns_id_seq)), false);
+SELECT setval('constraints_id_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM constraints), 0) + 50,
+        (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM constraints_id_seq)), false);
+SELECT setval('projects_id_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM projects), 0) + 50,
+        (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM projects_id_seq)), false);
+SELECT setval('project_security_requirements_id_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM project_security_requirements), 0) + 50,
+        (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM project_security_requirements_id_seq)), false);
+SELECT setval('preference_elicitation_dialogs_id_seq', GREATEST(
+        COALESCE((SELECT MAX(id) FROM preference_elicitation_dialogs), 0) + 50,
+        (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM preference_elicitation_dialogs_id_seq)), false);
@@ -0,0 +1,171 @@
+package de.rwth_aachen.swc.recsec.ai.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmGatewayTest {
+
+	private static LlmGateway gateway(Function<Prompt, String> model, int maxConcurrentCalls, Duration callTimeout) {
+		ChatModel chatModel = new ChatModel() {
+			@Override
+			public ChatResponse call(Prompt prompt) {
+				return new ChatResponse(List.of(new Generation(model.apply(prompt))));
+			}
+		};
+		return new LlmGateway(ChatClient.builder(chatModel), maxConcurrentCalls, Duration.ofMillis(100),
+				callTimeout, 3, Duration.ofMillis(1), Duration.ofMillis(5));
+	}
+
+	@Test
+	void coalescesConcurrentIdenticalPrompts() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		LlmGateway gateway = gateway(prompt -> {
+			calls.incrementAndGet();
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "answer";
+		}, 1, Duration.ofSeconds(5));
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> gateway.call(new Prompt("question")));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// A second caller that did not join the in-flight call would wait for the only slot instead and fail
+		CompletableFuture<String> second = new CompletableFuture<>();
+		Thread secondCaller = new Thread(() -> {
+			try {
+				second.complete(gateway.call(new Prompt("question")));
+			} catch (Throwable e) {
+				second.completeExceptionally(e);
+			}
+		});
+		secondCaller.start();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (secondCaller.getState() != Thread.State.WAITING && !second.isDone() && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("answer");
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("answer");
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void retriesTransientFailures() {
+		AtomicInteger calls = new AtomicInteger();
+		LlmGateway gateway = gateway(prompt -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new TransientAiException("429 Too Many Requests");
+			}
+			return "answer";
+		}, 1, Duration.ofSeconds(5));
+
+		assertThat(gateway.call(new Prompt("question"))).isEqualTo("answer");
+		assertThat(calls).hasValue(3);
+	}
+
+	@Test
+	void doesNotRetryNonTransientFailures() {
+		AtomicInteger calls = new AtomicInteger();
+		LlmGateway gateway = gateway(prompt -> {
+			calls.incrementAndGet();
+			throw new NonTransientAiException("400 Bad Request");
+		}, 1, Duration.ofSeconds(5));
+
+		assertThatThrownBy(() -> gateway.call(new Prompt("question"))).isInstanceOf(NonTransientAiException.class);
+		assertThat(calls).hasValue(1);
+	}
+
+	@Test
+	void rejectsCallsWhenNoSlotBecomesAvailable() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		LlmGateway gateway = gateway(prompt -> {
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "answer";
+		}, 1, Duration.ofSeconds(5));
+
+		CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> gateway.call(new Prompt("first")));
+		assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> gateway.call(new Prompt("second")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("answer");
+	}
+
+	@Test
+	void failsCallsExceedingTheTimeout() {
+		LlmGateway gateway = gateway(prompt -> {
+			try {
+				Thread.sleep(5_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "answer";
+		}, 1, Duration.ofMillis(50));
+
+		assertThatThrownBy(() -> gateway.call(new Prompt("question")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+	}
+
+	@Test
+	void keepsTheSlotOfATimedOutCallUntilItFinishes() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		LlmGateway gateway = gateway(prompt -> {
+			if (prompt.getContents().equals("slow")) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return "answer";
+		}, 1, Duration.ofMillis(50));
+
+		assertThatThrownBy(() -> gateway.call(new Prompt("slow")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT));
+
+		// The timed-out call is still in flight and holds the only slot
+		assertThatThrownBy(() -> gateway.call(new Prompt("fast")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+		release.countDown();
+		assertThat(gateway.call(new Prompt("fast"))).isEqualTo("answer");
+	}
+}
@@ -0,0 +1,71 @@
+package de.rwth_aachen.swc.recsec.recommendations.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKSelectorTest {
+
+	private record Candidate(long id, double score) { }
+
+	private static TopKSelector<Candidate> selector(int k, Double minScore) {
+		return new TopKSelector<>(k, minScore, Candidate::score, Candidate::id);
+	}
+
+	@Test
+	void keepsHighestScoresInDescendingOrder() {
+		TopKSelector<Candidate> selector = selector(2, null);
+		selector.offer(new Candidate(1, 0.2));
+		selector.offer(new Candidate(2, 0.9));
+		selector.offer(new Candidate(3, 0.5));
+		selector.offer(new Candidate(4, 0.1));
+
+		assertThat(selector.toSortedList()).containsExactly(new Candidate(2, 0.9), new Candidate(3, 0.5));
+	}
+
+	@Test
+	void breaksTiesByAscendingId() {
+		TopKSelector<Candidate> selector = selector(2, null);
+		selector.offer(new Candidate(7, 0.5));
+		selector.offer(new Candidate(3, 0.5));
+		selector.offer(new Candidate(5, 0.5));
+
+		assertThat(selector.toSortedList()).extracting(Candidate::id).containsExactly(3L, 5L);
+	}
+
+	@Test
+	void dropsCandidatesBelowMinimumScore() {
+		TopKSelector<Candidate> selector = selector(10, 0.5);
+
+		assertThat(selector.accepts(0.4, 1)).isFalse();
+		assertThat(selector.offer(new Candidate(1, 0.4))).isFalse();
+		assertThat(selector.offer(new Candidate(2, 0.5))).isTrue();
+		assertThat(selector.toSortedList()).containsExactly(new Candidate(2, 0.5));
+	}
+
+	@Test
+	void rejectsEverythingWhenKIsZero() {
+		TopKSelector<Candidate> selector = selector(0, null);
+
+		assertThat(selector.offer(new Candidate(1, 1.0))).isFalse();
+		assertThat(selector.toSortedList()).isEqualTo(List.of());
+	}
+
+	@Test
+	void mergesSelectionsLikeASingleSelector() {
+		TopKSelector<Candidate> single = selector(3, 0.2);
+		TopKSelector<Candidate> left = selector(3, 0.2);
+		TopKSelector<Candidate> right = selector(3, 0.2);
+		for (int id = 0; id < 20; id++) {
+			Candidate candidate = new Candidate(id, (id * 7 % 10) / 10.0);
+			single.offer(candidate);
+			(id % 2 == 0 ? left : right).offer(candidate);
+		}
+
+		left.merge(right);
+
+		assertThat(left.toSortedList()).isEqualTo(single.toSortedList());
+	}
+}
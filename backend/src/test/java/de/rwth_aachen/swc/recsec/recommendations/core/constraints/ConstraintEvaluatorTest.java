@@ -0,0 +1,160 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import de.rwth_aachen.swc.recsec.recommendations.core.RecommendationMetrics;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.Explanation;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ConstraintEvaluatorTest {
+
+	private static final RecommendationContext CONTEXT = new RecommendationContext(null, null, Map.of());
+
+	private final ConstraintEvaluator constraintEvaluator = new ConstraintEvaluator(
+			new RecommendationMetrics(new SimpleMeterRegistry(), true), new ConstraintProfiler(false));
+
+	private static final class FixedConstraint extends Constraint {
+
+		private final long id;
+		private final boolean hard;
+		private final int weight;
+		private final boolean applicable;
+		private final boolean satisfied;
+
+		private FixedConstraint(long id, boolean hard, int weight, boolean applicable, boolean satisfied) {
+			this.id = id;
+			this.hard = hard;
+			this.weight = weight;
+			this.applicable = applicable;
+			this.satisfied = satisfied;
+		}
+
+		@Override
+		public Long getId() {
+			return id;
+		}
+
+		@Override
+		public String getName() {
+			return "constraint-" + id;
+		}
+
+		@Override
+		public String getDescription() {
+			return null;
+		}
+
+		@Override
+		public boolean isHard() {
+			return hard;
+		}
+
+		@Override
+		public int getWeight() {
+			return weight;
+		}
+
+		@Override
+		protected boolean isApplicable(RecommendationContext recommendationContext) {
+			return applicable;
+		}
+
+		@Override
+		protected boolean isSatisfied(RecommendationContext recommendationContext) {
+			return satisfied;
+		}
+
+		@Override
+		protected String getSatisfiedExplanation(RecommendationContext recommendationContext) {
+			return "satisfied";
+		}
+
+		@Override
+		protected String getViolatedExplanation(RecommendationContext recommendationContext) {
+			return "violated";
+		}
+	}
+
+	/**
+	 * The single-pass scoring over {@link Constraint#evaluate} that {@link ConstraintEvaluator#score} replaced.
+	 */
+	private static double singlePassScore(List<? extends Constraint> constraints, RecommendationContext context) {
+		int satisfiedWeight = 0;
+		int totalWeight = 0;
+		for (Constraint constraint : constraints) {
+			ConstraintResult result = constraint.evaluate(context);
+			if (constraint.isHard()) {
+				if (!result.satisfied()) {
+					return ConstraintEvaluator.REJECTED;
+				}
+			} else {
+				if (result.satisfied()) {
+					satisfiedWeight += constraint.getWeight();
+				}
+				totalWeight += constraint.getWeight();
+			}
+		}
+		return totalWeight != 0 ? ((double) satisfiedWeight / totalWeight) : 1.0;
+	}
+
+	@Test
+	void scoreMatchesSinglePassScoring() {
+		Random random = new Random(42);
+		for (int run = 0; run < 1_000; run++) {
+			List<Constraint> constraints = new ArrayList<>();
+			int size = random.nextInt(12);
+			for (int i = 0; i < size; i++) {
+				constraints.add(new FixedConstraint(i, random.nextInt(5) == 0, 1 + random.nextInt(5),
+						random.nextBoolean(), random.nextInt(4) != 0));
+			}
+
+			assertThat(constraintEvaluator.score(constraints, CONTEXT))
+					.isEqualTo(singlePassScore(constraints, CONTEXT));
+		}
+	}
+
+	@Test
+	void countsInapplicableConstraintsAsSatisfied() {
+		List<Constraint> constraints = List.of(
+				new FixedConstraint(1, false, 3, false, false),
+				new FixedConstraint(2, false, 1, true, false),
+				new FixedConstraint(3, true, 1, false, false));
+
+		assertThat(constraintEvaluator.score(constraints, CONTEXT)).isEqualTo(0.75);
+	}
+
+	@Test
+	void rejectsContextsViolatingAnApplicableHardConstraint() {
+		List<Constraint> constraints = List.of(
+				new FixedConstraint(1, false, 1, true, true),
+				new FixedConstraint(2, true, 1, true, false),
+				new FixedConstraint(3, false, 1, true, true));
+
+		assertThat(constraintEvaluator.score(constraints, CONTEXT)).isEqualTo(ConstraintEvaluator.REJECTED);
+		assertThat(constraintEvaluator.explain(constraints, CONTEXT))
+				.extracting(Explanation::constraintName)
+				.containsExactly("constraint-1", "constraint-2");
+	}
+
+	@Test
+	void explainsApplicableConstraintsOnly() {
+		List<Constraint> constraints = List.of(
+				new FixedConstraint(1, false, 1, false, true),
+				new FixedConstraint(2, false, 1, true, false),
+				new FixedConstraint(3, true, 1, true, true));
+
+		assertThat(constraintEvaluator.explain(constraints, CONTEXT))
+				.extracting(Explanation::constraintName, Explanation::satisfied, Explanation::rationale)
+				.containsExactly(
+						tuple("constraint-2", false, "violated"),
+						tuple("constraint-3", true, "satisfied"));
+	}
+}
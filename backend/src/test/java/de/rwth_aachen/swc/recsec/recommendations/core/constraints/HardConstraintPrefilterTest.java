@@ -0,0 +1,216 @@
+package de.rwth_aachen.swc.recsec.recommendations.core.constraints;
+
+import de.rwth_aachen.swc.recsec.projects.dto.responses.ProjectDTO;
+import de.rwth_aachen.swc.recsec.recommendations.core.RecommendationMetrics;
+import de.rwth_aachen.swc.recsec.recommendations.core.dto.RecommendationContext;
+import de.rwth_aachen.swc.recsec.security_patterns.dto.SecurityPatternDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HardConstraintPrefilterTest {
+
+	private static final long SECURITY_CONTROL_ID = 1L;
+
+	private final SpelExpressionCache expressionCache = new SpelExpressionCache(1024, SpelCompilerMode.OFF);
+	private final RecommendationMetrics recommendationMetrics = new RecommendationMetrics(new SimpleMeterRegistry(), false);
+	private final ConstraintEvaluator constraintEvaluator = new ConstraintEvaluator(recommendationMetrics, new ConstraintProfiler(false));
+	private HardConstraintPrefilter prefilter;
+
+	@BeforeEach
+	void setUp() {
+		prefilter = new HardConstraintPrefilter(recommendationMetrics, new ConstraintProfiler(false));
+		ReflectionTestUtils.setField(prefilter, "enabled", true);
+	}
+
+	private SpelConstraint constraint(long id, boolean hard, String applicability, String satisfaction) {
+		return new SpelConstraint(id, applicability, satisfaction, "'satisfied'", "'violated'", 1, hard,
+				"constraint-" + id, null, expressionCache);
+	}
+
+	private List<SpelConstraint> constraints() {
+		return List.of(
+				// Prefilterable: applicability on the request, satisfaction on the pattern, with indexers
+				constraint(1, true, "project.properties['typeOfData'].contains('FINANCIAL')",
+						"securityPattern.properties['security_strength']['score'] >= 4"),
+				constraint(2, true, "userPreferences['securityUsabilityTradeoff'] == 'SECURITY'",
+						"securityPattern.properties['usability']['score'] >= 2"),
+				// Not prefilterable: variables, root method calls, selections and root indexers
+				constraint(3, true, "true",
+						"#root.securityPattern.properties['security_strength']['score'] >= 2"),
+				constraint(4, true, "project.properties['typeOfData'].size() > 1",
+						"securityPattern().properties['usability']['score'] >= 3"),
+				constraint(5, true, "userPreferences['requireMfa'] == true",
+						"securityPattern.properties['tags'].?[#this == 'mfa'].size() > 0"),
+				constraint(6, true, "['project'].properties['typeOfData'].contains('HEALTH')",
+						"securityPattern.properties['usability']['score'] >= 4"),
+				// Not prefilterable: satisfaction depends on the project, applicability on the pattern
+				constraint(7, true, "true",
+						"securityPattern.properties['security_strength']['score'] >= project.properties['minimumStrength']"),
+				constraint(8, true, "securityPattern.properties['tags'].contains('legacy')",
+						"securityPattern.properties['usability']['score'] >= 5"),
+				// Soft constraints
+				constraint(9, false, "true", "securityPattern.properties['usability']['score'] >= 4"),
+				constraint(10, false, "userPreferences['securityUsabilityTradeoff'] == 'USABILITY'",
+						"securityPattern.properties['usability']['score'] >= 3"));
+	}
+
+	private static List<SecurityPatternDTO> securityPatterns(int offset) {
+		List<SecurityPatternDTO> securityPatterns = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			List<String> tags = new ArrayList<>();
+			if (i % 3 == 0) {
+				tags.add("mfa");
+			}
+			if (i % 7 == 0) {
+				tags.add("legacy");
+			}
+			securityPatterns.add(new SecurityPatternDTO(
+					(long) i,
+					"Pattern " + i,
+					Map.of(),
+					Map.of(
+							"security_strength", Map.of("score", 1 + (i + offset) % 5),
+							"usability", Map.of("score", 1 + (i * 3 + offset) % 5),
+							"tags", tags),
+					null));
+		}
+		return List.copyOf(securityPatterns);
+	}
+
+	private static List<ProjectDTO> projects() {
+		return List.of(
+				project(1, List.of(), 1),
+				project(2, List.of("FINANCIAL"), 3),
+				project(3, List.of("FINANCIAL", "HEALTH"), 2),
+				project(4, List.of("PERSONAL", "HEALTH"), 1));
+	}
+
+	private static ProjectDTO project(long id, List<String> typeOfData, int minimumStrength) {
+		return new ProjectDTO(id, "Project " + id,
+				Map.of("typeOfData", typeOfData, "minimumStrength", minimumStrength), null, null, List.of());
+	}
+
+	private static List<Map<String, Object>> userPreferences() {
+		return List.of(
+				Map.of(),
+				Map.of("securityUsabilityTradeoff", "SECURITY"),
+				Map.of("securityUsabilityTradeoff", "USABILITY", "requireMfa", true),
+				Map.of("securityUsabilityTradeoff", "SECURITY", "requireMfa", true));
+	}
+
+	/**
+	 * Scores every pattern without the pre-filter, keyed by pattern ID, leaving out the rejected ones.
+	 */
+	private Map<Long, Double> unfiltered(List<SpelConstraint> constraints, List<SecurityPatternDTO> securityPatterns,
+			ProjectDTO project, Map<String, Object> userPreferences) {
+		Map<Long, Double> scores = new HashMap<>();
+		for (SecurityPatternDTO securityPattern : securityPatterns) {
+			double score = constraintEvaluator.score(constraints,
+					new RecommendationContext(securityPattern, project, userPreferences));
+			if (score != ConstraintEvaluator.REJECTED) {
+				scores.put(securityPattern.id(), score);
+			}
+		}
+		return scores;
+	}
+
+	/**
+	 * Scores only the patterns surviving the pre-filter, keyed by pattern ID, leaving out the rejected ones.
+	 */
+	private Map<Long, Double> prefiltered(List<SpelConstraint> constraints, List<SecurityPatternDTO> securityPatterns,
+			ProjectDTO project, Map<String, Object> userPreferences) {
+		BitSet survivors = prefilter.filter(SECURITY_CONTROL_ID, constraints, securityPatterns, project, userPreferences);
+		Map<Long, Double> scores = new HashMap<>();
+		for (int i = survivors.nextSetBit(0); i >= 0; i = survivors.nextSetBit(i + 1)) {
+			SecurityPatternDTO securityPattern = securityPatterns.get(i);
+			double score = constraintEvaluator.score(constraints,
+					new RecommendationContext(securityPattern, project, userPreferences));
+			if (score != ConstraintEvaluator.REJECTED) {
+				scores.put(securityPattern.id(), score);
+			}
+		}
+		return scores;
+	}
+
+	@Test
+	void prefiltersOnlyConstraintsThatCanBePreEvaluated() {
+		assertThat(constraints())
+				.filteredOn(SpelConstraint::isPrefilterable)
+				.extracting(SpelConstraint::getId)
+				.containsExactly(1L, 2L);
+	}
+
+	@Test
+	void keepsExactlyThePatternsTheFullEvaluationKeeps() {
+		List<SpelConstraint> constraints = constraints();
+		List<SecurityPatternDTO> securityPatterns = securityPatterns(0);
+		boolean rejectedAny = false;
+
+		for (ProjectDTO project : projects()) {
+			for (Map<String, Object> userPreferences : userPreferences()) {
+				BitSet survivors = prefilter.filter(SECURITY_CONTROL_ID, constraints, securityPatterns, project, userPreferences);
+				rejectedAny |= survivors.cardinality() < securityPatterns.size();
+
+				assertThat(prefiltered(constraints, securityPatterns, project, userPreferences))
+						.isEqualTo(unfiltered(constraints, securityPatterns, project, userPreferences));
+			}
+		}
+
+		assertThat(rejectedAny).isTrue();
+	}
+
+	@Test
+	void rebuildsTheIndexWhenTheCatalogChanges() {
+		List<SpelConstraint> constraints = constraints();
+		ProjectDTO project = projects().get(2);
+		Map<String, Object> userPreferences = userPreferences().get(3);
+
+		for (int offset = 0; offset < 5; offset++) {
+			List<SecurityPatternDTO> securityPatterns = securityPatterns(offset);
+			assertThat(prefiltered(constraints, securityPatterns, project, userPreferences))
+					.isEqualTo(unfiltered(constraints, securityPatterns, project, userPreferences));
+		}
+	}
+
+	@Test
+	void reusesTheIndexForAnEqualCatalogInstance() {
+		// Counts the satisfaction evaluations, which only happen while the index is built
+		AtomicInteger satisfactionEvaluations = new AtomicInteger();
+		List<SpelConstraint> constraints = List.of(new SpelConstraint(1L, "true",
+				"securityPattern.properties['usability']['score'] >= 2", "'satisfied'", "'violated'", 1, true,
+				"constraint-1", null, expressionCache) {
+			@Override
+			protected boolean isSatisfied(RecommendationContext context) {
+				satisfactionEvaluations.incrementAndGet();
+				return super.isSatisfied(context);
+			}
+		});
+		ProjectDTO project = projects().get(1);
+		Map<String, Object> userPreferences = userPreferences().get(1);
+		List<SecurityPatternDTO> securityPatterns = securityPatterns(0);
+
+		BitSet first = prefilter.filter(SECURITY_CONTROL_ID, constraints, securityPatterns, project, userPreferences);
+		assertThat(satisfactionEvaluations).hasValue(securityPatterns.size());
+
+		BitSet sameInstance = prefilter.filter(SECURITY_CONTROL_ID, constraints, securityPatterns, project, userPreferences);
+		BitSet equalInstance = prefilter.filter(SECURITY_CONTROL_ID, constraints, securityPatterns(0), project, userPreferences);
+		assertThat(satisfactionEvaluations).hasValue(securityPatterns.size());
+		assertThat(sameInstance).isEqualTo(first);
+		assertThat(equalInstance).isEqualTo(first);
+
+		prefilter.filter(SECURITY_CONTROL_ID, constraints, securityPatterns(1), project, userPreferences);
+		assertThat(satisfactionEvaluations).hasValue(2 * securityPatterns.size());
+	}
+}
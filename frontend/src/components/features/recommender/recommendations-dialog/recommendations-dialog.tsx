@@ -77,7 +77,8 @@ const RecommendationsDialog: React.FC<RecommendationsDialogProps> = ({
       fetchPatternExplanation(
         selectedRecommendation.securityPattern.id,
         selectedRecommendation.securityPattern,
-        selectedRecommendation.explanations
+        selectedRecommendation.explanations,
+        selectedRecommendation.recommendationId
       ).catch(console.error);
     }
   }, [
@@ -14,7 +14,12 @@ export const usePatternExplanations = () => {
   >(null);
 
   const fetchPatternExplanation = useCallback(
-    async (patternId: string, securityPattern: unknown, explanations: unknown) => {
+    async (
+      patternId: string,
+      securityPattern: unknown,
+      explanations: unknown,
+      recommendationId?: string
+    ) => {
       if (cache[patternId]) {
         setNaturalLanguageExplanation(cache[patternId]);
         return cache[patternId];
@@ -24,14 +29,30 @@ export const usePatternExplanations = () => {
       setError(null);
 
       try {
-        const response = await axiosInstance.post(
-          `/ai/natural-language-explanation`,
-          {
-            securityPattern,
-            explanations,
+        let result: string | null = null;
+
+        // Explanations of returned recommendations are generated in the background
+        if (recommendationId) {
+          try {
+            const response = await axiosInstance.get(
+              `/ai/natural-language-explanations/${recommendationId}`
+            );
+            result = response.data;
+          } catch {
+            result = null;
           }
-        );
-        const result: string = response.data;
+        }
+
+        if (result === null) {
+          const response = await axiosInstance.post(
+            `/ai/natural-language-explanation`,
+            {
+              securityPattern,
+              explanations,
+            }
+          );
+          result = response.data as string;
+        }
 
         cache[patternId] = result;
 
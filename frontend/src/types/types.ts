@@ -125,4 +125,5 @@ export type SecurityPatternRecommendation = {
   securityPattern: SecurityPattern;
   score: number;
   explanations: string[];
+  recommendationId?: string;
 };